@@ -0,0 +1,33 @@
+package com.chedyProjects.TodoTeam.benchmarks;
+
+import com.chedyProjects.TodoTeam.TodoTeamApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the real application against an in-memory H2 database so benchmarks run offline
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    // Passed as command-line arguments so they take precedence over application.yml
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                // The migrations are PostgreSQL-specific (partial and text_pattern_ops indexes); H2 gets the schema from the entities
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "server.port=0",
+                "logging.level.root=WARN"));
+        args.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(TodoTeamApplication.class)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
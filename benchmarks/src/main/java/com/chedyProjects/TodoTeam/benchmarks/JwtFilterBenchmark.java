@@ -0,0 +1,75 @@
+package com.chedyProjects.TodoTeam.benchmarks;
+
+import com.chedyProjects.TodoTeam.security.JwtFilter;
+import com.chedyProjects.TodoTeam.security.JwtUtil;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.concurrent.TimeUnit;
+
+// Per-request authentication cost: the JwtFilter alone and the whole Spring Security chain it sits in.
+// The chain ends in an empty MockFilterChain, so no controller or database work is included.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private ConfigurableApplicationContext context;
+    private JwtFilter jwtFilter;
+    private Filter securityFilterChain;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jwtFilter = context.getBean(JwtFilter.class);
+        securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken(1L, "bench@example.com", 0, 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse jwtFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtFilter.doFilter(request(), response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse securityFilterChain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request(), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
@@ -0,0 +1,104 @@
+package com.chedyProjects.TodoTeam.benchmarks;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.dto.TaskFilter;
+import com.chedyProjects.TodoTeam.entity.Task;
+import com.chedyProjects.TodoTeam.entity.Team;
+import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.repository.TaskRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRow;
+import com.chedyProjects.TodoTeam.repository.TeamRepository;
+import com.chedyProjects.TodoTeam.repository.UserRepository;
+import com.chedyProjects.TodoTeam.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// A 10k-row listing: managed entities mapped by TaskService.toDto (the old read path) vs. the TaskRow projection.
+// Run with -prof gc and compare gc.alloc.rate.norm for the per-listing allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListingBenchmark {
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Long userId;
+    private Long teamId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        taskRepository = context.getBean(TaskRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Team team = context.getBean(TeamRepository.class).save(Team.builder().name("bench").inviteCode("bench").build());
+        teamId = team.getId();
+        User user = userRepository.save(User.builder().username("bench").email("bench@example.com").password("x").teamId(teamId).build());
+        User other = userRepository.save(User.builder().username("other").email("other@example.com").password("x").teamId(teamId).build());
+        userId = user.getId();
+
+        // Mix of owned, assigned and unassigned tasks, all visible to the benchmark user
+        List<Task> tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Benchmark task number " + i)
+                    .priority(Task.Priority.values()[i % Task.Priority.values().length])
+                    .isCompleted(i % 5 == 0)
+                    .dueDate(1_700_000_000_000L + i * 60_000L)
+                    .owner(i % 2 == 0 ? user : other)
+                    .assigned(i % 3 == 0 ? null : i % 3 == 1 ? user : other)
+                    .teamId(teamId)
+                    .build());
+        }
+        readWrite.executeWithoutResult(status -> taskRepository.saveAll(tasks));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Before: what GET /tasks used to do, with a regular (dirty-checked) persistence context
+    @Benchmark
+    public List<TaskDto> entityListing() {
+        return readWrite.execute(status -> taskRepository.findAccessibleTasks(userId, teamId).stream()
+                .map(TaskService::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    // After: constructor-expression projection in a read-only transaction
+    @Benchmark
+    public List<TaskDto> projectionListing() {
+        return readOnly.execute(status -> taskRepository.findAccessibleTasksPage(userId, teamId, new TaskFilter(), null, null, ROWS).stream()
+                .map(TaskRow::toDto)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.chedyProjects.TodoTeam.benchmarks;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.entity.Task;
+import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Entity-to-DTO mapping and the JSON encoding of a task page, on in-memory objects
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+    @Param({"50", "500"})
+    private int size;
+
+    private List<Task> tasks;
+    private List<TaskDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1L).username("owner").email("owner@example.com").teamId(1L).build();
+        User assignee = User.builder().id(2L).username("assignee").email("assignee@example.com").teamId(1L).build();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Benchmark task number " + i)
+                    .priority(Task.Priority.values()[i % Task.Priority.values().length])
+                    .isCompleted(i % 5 == 0)
+                    .dueDate(1_700_000_000_000L + i * 60_000L)
+                    .owner(owner)
+                    .assigned(i % 2 == 0 ? assignee : null)
+                    .teamId(1L)
+                    .lastUpdate(Instant.now())
+                    .build());
+        }
+        dtos = toDtos();
+        // Same builder Spring Boot uses for the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<TaskDto> toDtos() {
+        return tasks.stream()
+                .map(TaskService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
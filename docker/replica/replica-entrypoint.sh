@@ -0,0 +1,15 @@
+#!/bin/bash
+# Clones the primary on first start, then runs as a hot standby streaming from it
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 0700 "$PGDATA"
+    until su-exec postgres pg_basebackup -h postgres -U replicator -D "$PGDATA" -S replica1 -X stream -R; do
+        echo "Waiting for the primary..."
+        sleep 2
+    done
+fi
+
+exec su-exec postgres postgres -c hot_standby=on
@@ -0,0 +1,97 @@
+// Compares platform-thread and virtual-thread mode under a login burst mixed with task traffic.
+//
+//   VIRTUAL_THREADS=false mvn spring-boot:run   then   k6 run -e MODE=platform loadtest/thread-modes.js
+//   VIRTUAL_THREADS=true  mvn spring-boot:run   then   k6 run -e MODE=virtual  loadtest/thread-modes.js
+//
+// Each run writes loadtest/results-<MODE>.json; compare http_reqs rate and the p(99) of http_req_duration
+// (overall and per scenario), plus the 503 rate, which shows the database bulkhead shedding load.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const USERS = parseInt(__ENV.USERS || '50');
+const PASSWORD = 'load-test-password';
+
+const shed = new Counter('shed_503');
+
+export const options = {
+    scenarios: {
+        // BCrypt-heavy: every iteration is a full password check
+        logins: {
+            executor: 'ramping-arrival-rate',
+            exec: 'login',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 1000,
+            stages: [
+                { target: 50, duration: '30s' },
+                { target: 50, duration: '1m' },
+                { target: 0, duration: '10s' },
+            ],
+        },
+        // Database-bound reads and writes running alongside the burst
+        tasks: {
+            executor: 'constant-arrival-rate',
+            exec: 'tasks',
+            rate: 300,
+            timeUnit: '1s',
+            duration: '1m40s',
+            preAllocatedVUs: 300,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Always-passing thresholds, only there so the summary breaks latency down per scenario
+    thresholds: {
+        'http_req_duration{scenario:tasks}': ['p(99)>=0'],
+        'http_req_duration{scenario:logins}': ['p(99)>=0'],
+    },
+};
+
+export function setup() {
+    const tokens = [];
+    for (let i = 0; i < USERS; i++) {
+        const email = `load-${MODE}-${Date.now()}-${i}@example.com`;
+        const body = JSON.stringify({ username: `load${i}`, email: email, password: PASSWORD });
+        const res = http.post(`${BASE_URL}/auth/register`, body, { headers: { 'Content-Type': 'application/json' } });
+        tokens.push({ email: email, token: res.json('token') });
+    }
+    return { users: tokens };
+}
+
+export function login(data) {
+    const user = data.users[Math.floor(Math.random() * data.users.length)];
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email: user.email, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    record(res);
+}
+
+export function tasks(data) {
+    const user = data.users[Math.floor(Math.random() * data.users.length)];
+    const headers = { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` };
+    if (Math.random() < 0.2) {
+        const body = JSON.stringify({ title: 'load', priority: 'NORMAL', dueDate: Date.now() + 86400000 });
+        record(http.post(`${BASE_URL}/tasks`, body, { headers: headers }));
+    } else {
+        record(http.get(`${BASE_URL}/tasks?size=50`, { headers: headers }));
+    }
+}
+
+function record(res) {
+    if (res.status === 503) {
+        shed.add(1);
+    }
+    check(res, { 'status is 2xx or 503': (r) => (r.status >= 200 && r.status < 300) || r.status === 503 });
+}
+
+export function handleSummary(data) {
+    const file = `loadtest/results-${MODE}.json`;
+    return {
+        [file]: JSON.stringify(data, null, 2),
+        stdout: textSummary(data, { indent: ' ', enableColors: true }) + `\nSummary written to ${file}\n`,
+    };
+}
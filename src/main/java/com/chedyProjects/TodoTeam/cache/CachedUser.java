@@ -0,0 +1,12 @@
+package com.chedyProjects.TodoTeam.cache;
+
+import com.chedyProjects.TodoTeam.entity.User;
+
+// Immutable identity snapshot; safe to share across threads and to serialize into a shared cache
+public record CachedUser(Long id, String email, String username, String passwordHash, int tokenVersion, Long teamId) {
+
+    public static CachedUser from(User user) {
+        return new CachedUser(user.getId(), user.getEmail(), user.getUsername(), user.getPassword(), user.getTokenVersion(),
+                user.getTeamId());
+    }
+}
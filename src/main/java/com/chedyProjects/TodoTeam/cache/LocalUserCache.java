@@ -0,0 +1,99 @@
+package com.chedyProjects.TodoTeam.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+@Component
+@ConditionalOnProperty(name = "users.cache.type", havingValue = "local", matchIfMissing = true)
+public class LocalUserCache implements UserCache, MeterBinder {
+    private final Cache<Long, CachedUser> byId;
+    // email -> id, so both lookups share the single CachedUser held in byId
+    private final Cache<String, Long> idByEmail;
+
+    public LocalUserCache(@Value("${users.cache.max-size:10000}") long maxSize,
+                          @Value("${users.cache.ttl:5m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<CachedUser> getById(Long id, Function<Long, Optional<CachedUser>> loader) {
+        // Absent users are not cached, so a registration is visible on the next lookup
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    @Override
+    public Optional<CachedUser> getByEmail(String email, Function<String, Optional<CachedUser>> loader) {
+        Long id = idByEmail.getIfPresent(email);
+        if (id != null) {
+            CachedUser user = byId.getIfPresent(id);
+            if (user != null && user.email().equals(email)) {
+                return Optional.of(user);
+            }
+        }
+        Optional<CachedUser> loaded = loader.apply(email);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    @Override
+    public Map<Long, CachedUser> getAllById(Collection<Long> ids, Function<Set<Long>, Map<Long, CachedUser>> loader) {
+        Map<Long, CachedUser> result = new HashMap<>(byId.getAllPresent(ids));
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(result.keySet());
+        if (!missing.isEmpty()) {
+            Map<Long, CachedUser> loaded = loader.apply(missing);
+            loaded.values().forEach(this::put);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidate(Long id, String email) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (email != null) {
+            idByEmail.invalidate(email);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(registry, idByEmail, "users.by-email");
+        Gauge.builder("users.cache.hit.ratio", byId, cache -> cache.stats().hitRate())
+                .description("Hit ratio of the user identity cache")
+                .register(registry);
+    }
+
+    private void put(CachedUser user) {
+        byId.put(user.id(), user);
+        idByEmail.put(user.email(), user.id());
+    }
+}
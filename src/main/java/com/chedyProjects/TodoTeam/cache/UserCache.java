@@ -0,0 +1,20 @@
+package com.chedyProjects.TodoTeam.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+// Read-through cache of user identities. The default is in-process (users.cache.type=local);
+// a shared implementation (e.g. Redis) only has to honour the same load/invalidate contract.
+public interface UserCache {
+    Optional<CachedUser> getById(Long id, Function<Long, Optional<CachedUser>> loader);
+
+    Optional<CachedUser> getByEmail(String email, Function<String, Optional<CachedUser>> loader);
+
+    // Missing ids are loaded together in one call; ids the loader does not return are absent from the result
+    Map<Long, CachedUser> getAllById(Collection<Long> ids, Function<Set<Long>, Map<Long, CachedUser>> loader);
+
+    void invalidate(Long id, String email);
+}
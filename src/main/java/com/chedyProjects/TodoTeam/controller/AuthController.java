@@ -1,30 +1,57 @@
 package com.chedyProjects.TodoTeam.controller;
 
 import com.chedyProjects.TodoTeam.dto.AuthDto;
+import com.chedyProjects.TodoTeam.security.AuthRateLimiter;
+import com.chedyProjects.TodoTeam.security.AuthUser;
 import com.chedyProjects.TodoTeam.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
 
     @PostMapping("/register")
-    public AuthDto register(@Valid @RequestBody RegisterRequest req) {
-        return authService.register(req.getEmail(), req.getPassword(), req.getUsername());
+    public AuthDto register(@Valid @RequestBody RegisterRequest req, HttpServletRequest request) {
+        rateLimiter.check("register", request.getRemoteAddr(), req.getEmail());
+        return authService.register(req.getEmail(), req.getPassword(), req.getUsername(), req.getInviteCode());
     }
 
     @PostMapping("/login")
-    public AuthDto login(@Valid @RequestBody LoginRequest req) {
+    public AuthDto login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
+        rateLimiter.check("login", request.getRemoteAddr(), req.getEmail());
         return authService.login(req.getEmail(), req.getPassword());
     }
 
+    @PostMapping("/refresh")
+    public AuthDto refresh(@Valid @RequestBody RefreshRequest req, HttpServletRequest request) {
+        rateLimiter.check("refresh", request.getRemoteAddr(), null);
+        return authService.refresh(req.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    public Map<String, String> logout(@RequestBody(required = false) LogoutRequest req,
+                                      @AuthenticationPrincipal AuthUser principal) {
+        authService.logout(req != null ? req.getRefreshToken() : null, principal);
+        return Map.of("status", "success");
+    }
+
+    @PostMapping("/logout-all")
+    public Map<String, String> logoutAll(@AuthenticationPrincipal AuthUser principal) {
+        authService.logoutAll(principal.getId());
+        return Map.of("status", "success");
+    }
+
     @Data
     public static class RegisterRequest {
         @Email
@@ -34,6 +61,8 @@ public class AuthController {
         private String password;
         @NotBlank
         private String username;
+        // From GET /teams/me of a member; omitted, the user starts a new team
+        private String inviteCode;
     }
 
     @Data
@@ -44,5 +73,15 @@ public class AuthController {
         @NotBlank
         private String password;
     }
-}
 
+    @Data
+    public static class RefreshRequest {
+        @NotBlank
+        private String refreshToken;
+    }
+
+    @Data
+    public static class LogoutRequest {
+        private String refreshToken;
+    }
+}
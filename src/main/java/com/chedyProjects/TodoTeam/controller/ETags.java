@@ -0,0 +1,23 @@
+package com.chedyProjects.TodoTeam.controller;
+
+// Conditional GET support shared by the controllers that answer 304
+final class ETags {
+
+    private ETags() {
+    }
+
+    // Weak comparison over a comma-separated If-None-Match list, as GET requires
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
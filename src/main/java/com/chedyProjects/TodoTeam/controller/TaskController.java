@@ -1,17 +1,38 @@
 package com.chedyProjects.TodoTeam.controller;
 
+import com.chedyProjects.TodoTeam.dto.BulkTaskOperation;
+import com.chedyProjects.TodoTeam.dto.TaskActivityPageDto;
+import com.chedyProjects.TodoTeam.dto.TaskChangesDto;
 import com.chedyProjects.TodoTeam.dto.TaskDto;
-import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.dto.TaskFilter;
+import com.chedyProjects.TodoTeam.dto.TaskPageDto;
+import com.chedyProjects.TodoTeam.dto.TaskSummaryDto;
+import com.chedyProjects.TodoTeam.event.TaskEventHub;
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import com.chedyProjects.TodoTeam.service.TaskActivityService;
+import com.chedyProjects.TodoTeam.service.TaskCounterService;
+import com.chedyProjects.TodoTeam.service.TaskExportService;
+import com.chedyProjects.TodoTeam.service.TaskFileFormat;
+import com.chedyProjects.TodoTeam.service.TaskImportService;
 import com.chedyProjects.TodoTeam.service.TaskService;
-import com.chedyProjects.TodoTeam.service.UserService;
+import com.chedyProjects.TodoTeam.service.TaskSyncService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,48 +42,154 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
-    private final UserService userService;
+    private final TaskSyncService taskSyncService;
+    private final TaskCounterService taskCounterService;
+    private final TaskActivityService taskActivityService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskEventHub taskEventHub;
 
+    // Pollers send back the ETag; an unchanged accessible set costs one aggregate query and no serialization
     @GetMapping
-    public List<TaskDto> getTasks(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getById(getUserId(userDetails));
-        return taskService.getAccessibleTasks(user);
+    public ResponseEntity<TaskPageDto> getTasks(@ModelAttribute TaskFilter filter,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                @AuthenticationPrincipal AuthUser principal) {
+        String etag = taskService.getAccessibleTasksETag(principal.getId(), principal.getTeamId(), filter);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskService.getAccessibleTasks(principal.getId(), principal.getTeamId(), filter, cursor, size));
+    }
+
+    // Words match as prefixes, best matches first; page with the returned cursor
+    @GetMapping("/search")
+    public TaskPageDto search(@RequestParam String q,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size,
+                              @AuthenticationPrincipal AuthUser principal) {
+        return taskService.searchAccessibleTasks(principal.getId(), principal.getTeamId(), q, cursor, size);
+    }
+
+    // Dashboard counts, read from maintained counters rather than the tasks themselves
+    @GetMapping("/summary")
+    public TaskSummaryDto getSummary(@AuthenticationPrincipal AuthUser principal) {
+        return taskCounterService.getSummary(principal.getId(), principal.getTeamId());
+    }
+
+    @GetMapping("/changes")
+    public TaskChangesDto getChanges(@RequestParam Long since,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     @AuthenticationPrincipal AuthUser principal) {
+        return taskSyncService.getChanges(principal.getId(), principal.getTeamId(), since, cursor, size);
+    }
+
+    // Streams straight from a database cursor; memory use does not grow with the number of tasks
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @AuthenticationPrincipal AuthUser principal) {
+        TaskFileFormat exportFormat = TaskFileFormat.parse(format);
+        Long userId = principal.getId();
+        Long teamId = principal.getTeamId();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(out -> taskExportService.export(userId, teamId, exportFormat, out));
+    }
+
+    // Body is CSV (with a header row) or NDJSON; the response streams NDJSON progress while the body is consumed
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/json"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importTasks(@RequestParam(required = false) String format,
+                                                             @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                             InputStream body,
+                                                             @AuthenticationPrincipal AuthUser principal) {
+        TaskFileFormat importFormat = format != null ? TaskFileFormat.parse(format)
+                : contentType != null && contentType.startsWith(TaskFileFormat.CSV.getContentType()) ? TaskFileFormat.CSV
+                : TaskFileFormat.NDJSON;
+        Long userId = principal.getId();
+        Long teamId = principal.getTeamId();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TaskFileFormat.NDJSON.getContentType()))
+                .body(out -> taskImportService.importTasks(userId, teamId, importFormat, body, out));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal AuthUser principal) {
+        return taskEventHub.subscribe(principal.getId(), principal.getTeamId());
     }
 
     @GetMapping("/{id}")
-    public TaskDto getTask(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getById(getUserId(userDetails));
-        return taskService.getAccessibleTaskById(id, user);
+    public ResponseEntity<TaskDto> getTask(@PathVariable Long id,
+                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                           @AuthenticationPrincipal AuthUser principal) {
+        if (ifNoneMatch != null) {
+            String etag = "\"" + taskService.getAccessibleTaskVersion(id, principal.getId(), principal.getTeamId()) + "\"";
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        TaskDto dto = taskService.getAccessibleTaskById(id, principal.getId(), principal.getTeamId());
+        return ResponseEntity.ok().eTag(eTag(dto)).body(dto);
+    }
+
+    // Assignment, completion, priority and due-date changes, newest first
+    @GetMapping("/{id}/activity")
+    public TaskActivityPageDto getActivity(@PathVariable Long id,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size,
+                                           @AuthenticationPrincipal AuthUser principal) {
+        return taskActivityService.getActivity(id, principal.getId(), principal.getTeamId(), cursor, size);
     }
 
     @PostMapping
-    public Map<String, Object> createTask(@Valid @RequestBody CreateTaskRequest req, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getById(getUserId(userDetails));
-        TaskDto dto = taskService.createTask(req.getTitle(), req.getDescription(), req.getPriority(), req.getDueDate(), req.getAssigneeId(), user);
+    public Map<String, Object> createTask(@Valid @RequestBody CreateTaskRequest req, @AuthenticationPrincipal AuthUser principal) {
+        TaskDto dto = taskService.createTask(req.getTitle(), req.getDescription(), req.getPriority(), req.getDueDate(), req.getAssigneeId(),
+                principal.getId(), principal.getTeamId());
         Map<String, Object> resp = new HashMap<>();
         resp.put("taskId", dto.getId());
         return resp;
     }
 
+    @PostMapping("/bulk")
+    public Map<String, Object> bulk(@Valid @RequestBody BulkTaskRequest req, @AuthenticationPrincipal AuthUser principal) {
+        return Map.of("results", taskService.bulk(req.getOperations(), principal.getId(), principal.getTeamId()));
+    }
+
     @PutMapping("/{id}")
-    public Map<String, String> updateTask(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest req, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getById(getUserId(userDetails));
-        taskService.updateTask(id, req.getDescription(), req.getPriority(), req.getDueDate(), req.getAssigneeId(), req.getCompleted(), user);
-        return Map.of("status", "success");
+    public ResponseEntity<Map<String, String>> updateTask(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest req,
+                                                          @RequestHeader(value = "If-Match", required = false) String ifMatch,
+                                                          @AuthenticationPrincipal AuthUser principal) {
+        TaskDto dto = taskService.updateTask(id, req.getDescription(), req.getPriority(), req.getDueDate(), req.getAssigneeId(), req.getCompleted(),
+                parseIfMatch(ifMatch), principal.getId(), principal.getTeamId());
+        return ResponseEntity.ok().eTag(eTag(dto)).body(Map.of("status", "success"));
     }
 
     @DeleteMapping("/{id}")
-    public Map<String, String> deleteTask(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getById(getUserId(userDetails));
-        taskService.deleteTask(id, user);
+    public Map<String, String> deleteTask(@PathVariable Long id, @AuthenticationPrincipal AuthUser principal) {
+        taskService.deleteTask(id, principal.getId(), principal.getTeamId());
         return Map.of("status", "success");
     }
 
-    private Long getUserId(UserDetails userDetails) {
-        // Fetch User entity by email directly
-        User user = userService.getByEmail(userDetails.getUsername());
-        if (user == null) throw new RuntimeException("User not found");
-        return user.getId();
+    // The version is the strong ETag, e.g. "3"
+    private static String eTag(TaskDto dto) {
+        return "\"" + dto.getVersion() + "\"";
+    }
+
+    // Absent or "*" means unconditional; anything that is not one of our ETags can never match
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        try {
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
     }
 
     @Data
@@ -77,6 +204,13 @@ public class TaskController {
         private Long assigneeId;
     }
 
+    @Data
+    public static class BulkTaskRequest {
+        @NotEmpty
+        @Size(max = 500)
+        private List<@Valid @NotNull BulkTaskOperation> operations;
+    }
+
     @Data
     public static class UpdateTaskRequest {
         private String description;
@@ -0,0 +1,23 @@
+package com.chedyProjects.TodoTeam.controller;
+
+import com.chedyProjects.TodoTeam.dto.TeamDto;
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import com.chedyProjects.TodoTeam.service.TeamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/teams")
+@RequiredArgsConstructor
+public class TeamController {
+    private final TeamService teamService;
+
+    // The caller's team and its invite code
+    @GetMapping("/me")
+    public TeamDto getMyTeam(@AuthenticationPrincipal AuthUser principal) {
+        return teamService.getTeam(principal.getTeamId());
+    }
+}
@@ -1,12 +1,17 @@
 package com.chedyProjects.TodoTeam.controller;
 
-import com.chedyProjects.TodoTeam.dto.UserDto;
+import com.chedyProjects.TodoTeam.dto.UserPageDto;
+import com.chedyProjects.TodoTeam.security.AuthUser;
 import com.chedyProjects.TodoTeam.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
 
 @RestController
 @RequestMapping("/users")
@@ -15,8 +20,16 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<UserPageDto> getUsers(@RequestParam(required = false) String q,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                @AuthenticationPrincipal AuthUser principal) {
+        // Members of the caller's team only
+        String etag = userService.getDirectoryETag(principal.getTeamId(), q);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(userService.getDirectory(principal.getTeamId(), q, page, size));
     }
 }
-
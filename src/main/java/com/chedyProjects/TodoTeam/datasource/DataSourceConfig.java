@@ -0,0 +1,37 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the auto-configured Hikari pool in a BulkheadDataSource (db.bulkhead.*).
+// The wrapper is itself the DataSource bean and a MeterBinder, so Boot binds its metrics directly.
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                Binder binder = Binder.get(environment);
+                int maxConcurrent = binder.bind("db.bulkhead.max-concurrent", Integer.class)
+                        .orElseGet(() -> binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10));
+                int maxWaiting = binder.bind("db.bulkhead.max-waiting", Integer.class).orElse(200);
+                Duration maxWait = binder.bind("db.bulkhead.max-wait", Duration.class).orElse(Duration.ofSeconds(2));
+                return new BulkheadDataSource(dataSource, maxConcurrent, maxWaiting, maxWait);
+            }
+        };
+    }
+}
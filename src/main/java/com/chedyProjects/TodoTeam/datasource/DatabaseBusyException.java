@@ -0,0 +1,10 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+// Thrown instead of queueing when the database bulkhead is saturated; mapped to 503 by GlobalExceptionHandler
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    public DatabaseBusyException(String reason) {
+        super(reason);
+    }
+}
@@ -0,0 +1,12 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Keeps a read-only transaction on the primary, for reads that must not observe replica lag
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
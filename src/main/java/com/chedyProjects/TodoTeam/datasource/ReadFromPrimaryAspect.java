@@ -0,0 +1,17 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Connections are fetched lazily at the first statement, so the flag is in place whatever the advice order
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.chedyProjects.TodoTeam.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return ReplicaRoutingDataSource.onPrimary(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,26 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+// Users who committed a write within the last sticky-for window; their reads stay on the primary until the
+// replicas have caught up. A time window rather than an LSN, so the check costs nothing on the replica.
+public class ReadYourWritesTracker {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickyFor, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyFor)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isPinned(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.NonNull;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// With db.replicas.urls set, the auto-configured Hikari pool becomes the primary behind a ReplicaRoutingDataSource.
+// Runs before the bulkhead post-processor, so the bulkhead still wraps the outermost DataSource.
+@Configuration
+@ConditionalOnExpression("!'${db.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    // Declared with its concrete type so the container sees it is Ordered before instantiating it
+    @Bean
+    public static RoutingPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    // Hikari metrics for the replica pools; Boot only instruments the primary bean
+    @Bean
+    public MeterBinder replicaRoutingMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+                routing.bindTo(registry);
+                routing.getReplicas().forEach(target -> {
+                    if (target instanceof HikariDataSource hikari) {
+                        hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    }
+                });
+            } catch (SQLException ignored) {
+            }
+        };
+    }
+
+    // Closes the primary and replica pools on shutdown
+    @Bean
+    public DisposableBean replicaPoolsCloser(DataSource dataSource) {
+        return () -> dataSource.unwrap(ReplicaRoutingDataSource.class).close();
+    }
+
+    static class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            Binder binder = Binder.get(environment);
+            List<String> urls = binder.bind("db.replicas.urls", String[].class).map(List::of).orElse(List.of());
+            int poolSize = binder.bind("db.replicas.pool-size", Integer.class).orElse(primary.getMaximumPoolSize());
+            long connectionTimeout = binder.bind("db.replicas.connection-timeout", Long.class).orElse(1000L);
+            Duration stickyFor = binder.bind("db.replicas.sticky-for", Duration.class).orElse(Duration.ofSeconds(5));
+
+            List<DataSource> replicas = new ArrayList<>();
+            for (int i = 0; i < urls.size(); i++) {
+                HikariConfig config = new HikariConfig();
+                primary.copyStateTo(config);
+                config.setJdbcUrl(urls.get(i).trim());
+                config.setPoolName(primary.getPoolName() + "-replica-" + i);
+                config.setMaximumPoolSize(poolSize);
+                config.setMinimumIdle(poolSize);
+                // Short, so a dead replica falls back to the primary quickly
+                config.setConnectionTimeout(connectionTimeout);
+                config.setReadOnly(true);
+                replicas.add(new HikariDataSource(config));
+            }
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                    new ReadYourWritesTracker(stickyFor, 100_000));
+            LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+            // Known up front, so the proxy never opens a connection just to read them
+            lazy.setDefaultAutoCommit(true);
+            lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return lazy;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
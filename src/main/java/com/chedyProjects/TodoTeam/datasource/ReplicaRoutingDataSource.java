@@ -0,0 +1,151 @@
+package com.chedyProjects.TodoTeam.datasource;
+
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sends @Transactional(readOnly = true) work to the replicas (round robin) and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the transaction has begun.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, AutoCloseable {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Pin only once the write is visible on the primary, i.e. after commit
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite(userId);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (FORCE_PRIMARY.get() != null || (userId != null && tracker.isPinned(userId))) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // A replica that cannot hand out a connection costs a warning, not a failed read
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            primaryRoutes.incrementAndGet();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = target.getConnection();
+            replicaRoutes.incrementAndGet();
+            return connection;
+        } catch (SQLException e) {
+            fallbacks.incrementAndGet();
+            log.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            primaryRoutes.incrementAndGet();
+            return primary.getConnection();
+        }
+    }
+
+    public interface PrimaryWork<T> {
+        T run() throws Throwable;
+    }
+
+    // See @ReadFromPrimary
+    public static <T> T onPrimary(PrimaryWork<T> work) throws Throwable {
+        if (FORCE_PRIMARY.get() != null) {
+            return work.run();
+        }
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    // The router replaces the pool bean, so Spring no longer closes the pools itself
+    @Override
+    public void close() throws Exception {
+        for (DataSource target : replicas) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("db.routing.connections", primaryRoutes, AtomicLong::get)
+                .description("Connections handed out by the read/write router")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("db.routing.connections", replicaRoutes, AtomicLong::get)
+                .description("Connections handed out by the read/write router")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("db.routing.fallbacks", fallbacks, AtomicLong::get)
+                .description("Read-only transactions sent to the primary because a replica failed")
+                .register(registry);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthUser user ? user.getId() : null;
+    }
+}
@@ -10,4 +10,8 @@ import lombok.NoArgsConstructor;
 public class AuthDto {
     private Long id;
     private String token;
+    // Opaque, single-use; exchange at /auth/refresh for a new pair before or after the access token expires
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
 }
@@ -0,0 +1,30 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskOperation {
+    public enum Op {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+
+    @NotNull
+    private Op op;
+    // Target task for UPDATE, COMPLETE and DELETE
+    private Long id;
+    // CREATE only
+    private String title;
+    private String description;
+    private String priority;
+    private Long dueDate;
+    private Long assigneeId;
+    // UPDATE and COMPLETE (COMPLETE defaults to true)
+    private Boolean completed;
+    // UPDATE, COMPLETE and DELETE: optional expected version, same as If-Match on PUT /tasks/{id}
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResultDto {
+    private int index;
+    private String op;
+    private Long taskId;
+    // HTTP status the equivalent single-task call would have returned
+    private int status;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskActivityDto {
+    private Long id;
+    private Long actorId;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private Long occurredAt;
+}
@@ -0,0 +1,14 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskActivityPageDto {
+    private List<TaskActivityDto> items;
+    private String nextCursor;
+}
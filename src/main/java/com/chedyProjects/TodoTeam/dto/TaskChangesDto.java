@@ -0,0 +1,19 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDto {
+    private List<TaskDto> changed;
+    private List<Long> removed;
+    private Long watermark;
+    // Set while hasMore: pass it back with the same since to fetch the next page
+    private String cursor;
+    private boolean hasMore;
+    private boolean resyncRequired;
+}
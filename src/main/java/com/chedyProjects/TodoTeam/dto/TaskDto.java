@@ -16,6 +16,8 @@ public class TaskDto {
     private Long dueDate;
     private Long ownerId;
     private Long assignedId;
+    private Long teamId;
     private Long lastUpdate;
+    private Long version;
 }
 
@@ -0,0 +1,16 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventDto {
+    // CREATED, UPDATED, ASSIGNED, DELETED, REMOVED (no longer accessible), RESYNC (events were dropped),
+    // or the reminders DUE_SOON and OVERDUE
+    private String type;
+    private Long taskId;
+    private TaskDto task;
+}
@@ -0,0 +1,15 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TaskFilter {
+    private Boolean completed;
+    private String priority;
+    private Long dueFrom;
+    private Long dueTo;
+    private Long ownerId;
+    private Long assigneeId;
+}
@@ -0,0 +1,28 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the /tasks/import response: "error" for a rejected row, "progress" after each batch, then "summary"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportEventDto {
+    private String type;
+    private Long line;
+    private String error;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+
+    public static TaskImportEventDto error(long line, String error) {
+        return new TaskImportEventDto("error", line, error, null, null, null);
+    }
+
+    public static TaskImportEventDto counts(String type, long processed, long imported, long failed) {
+        return new TaskImportEventDto(type, null, null, processed, imported, failed);
+    }
+}
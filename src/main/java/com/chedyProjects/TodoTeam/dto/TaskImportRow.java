@@ -0,0 +1,16 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One task in an import file: an NDJSON line, or a CSV record mapped by its header
+@Data
+@NoArgsConstructor
+public class TaskImportRow {
+    private String title;
+    private String description;
+    private String priority;
+    private Long dueDate;
+    private Long assigneeId;
+    private Boolean completed;
+}
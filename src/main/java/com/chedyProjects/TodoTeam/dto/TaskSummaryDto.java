@@ -0,0 +1,17 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryDto {
+    private long total;
+    private long open;
+    private long completed;
+    private long overdue;
+    private Map<String, Long> openByPriority;
+}
@@ -0,0 +1,15 @@
+package com.chedyProjects.TodoTeam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamDto {
+    private Long id;
+    private String name;
+    // Share it with colleagues; registering with it joins this team
+    private String inviteCode;
+}
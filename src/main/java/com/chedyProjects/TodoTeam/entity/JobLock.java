@@ -0,0 +1,38 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.time.Instant;
+
+// Lease held by the node currently running a scheduled job; expires on its own if that node dies
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    // Rows are only created through save() (leases change through JobLockRepository's updates), so save() always
+    // persists: a row another node inserted first is a duplicate key, never a merge that takes over its lease
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -4,10 +4,19 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 import java.time.Instant;
 
+// The schema is owned by db/migration; these indexes mirror it for ddl-auto runs (benchmarks on H2),
+// except the partial index on unassigned tasks, which JPA cannot express, and the hash partitioning by team_id
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_owner_last_update", columnList = "owner_id, last_update, id"),
+        @Index(name = "idx_tasks_assigned_last_update", columnList = "assigned_id, last_update, id"),
+        @Index(name = "idx_tasks_completed_last_update", columnList = "team_id, is_completed, last_update, id"),
+        @Index(name = "idx_tasks_priority_last_update", columnList = "team_id, priority, last_update, id"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,9 +24,16 @@ import java.time.Instant;
 @Builder
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
+    // The owner's team. @PartitionKey adds it to the WHERE clause of every UPDATE and DELETE Hibernate issues for a
+    // task, so writes touch one partition instead of probing all of them for the id.
+    @PartitionKey
+    @Column(name = "team_id", nullable = false, updatable = false)
+    private Long teamId;
+
     @NotBlank
     private String title;
 
@@ -43,9 +59,15 @@ public class Task {
     @JoinColumn(name = "assigned_id")
     private User assigned;
 
+    // tasks.search_vector (full-text search) is a generated column maintained by PostgreSQL and deliberately not mapped
+
     @Column(name = "last_update")
     private Instant lastUpdate;
 
+    // Optimistic lock, bumped on every update; clients see it as the task's ETag
+    @Version
+    private Long version;
+
     @PrePersist
     @PreUpdate
     public void updateTimestamp() {
@@ -0,0 +1,46 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+// One changed field of a task. The table is partitioned by month on occurred_at (V6__task_activity.sql), and its
+// primary key is (id, occurred_at); ids alone are still unique, since they come from one sequence.
+@Entity
+@Table(name = "task_activity", indexes = {
+        @Index(name = "idx_task_activity_task", columnList = "task_id, occurred_at DESC, id DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskActivity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_activity_seq")
+    @SequenceGenerator(name = "task_activity_seq", sequenceName = "task_activity_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Field field;
+
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public enum Field {
+        ASSIGNEE, COMPLETED, PRIORITY, DUE_DATE
+    }
+}
@@ -0,0 +1,34 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+// One task mutation waiting to be written to task_activity. Inserted in the request's transaction, so an activity
+// entry exists exactly when the change committed; TaskActivityWriter moves and deletes it shortly after.
+@Entity
+@Table(name = "task_activity_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskActivityOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_activity_outbox_seq")
+    @SequenceGenerator(name = "task_activity_outbox_seq", sequenceName = "task_activity_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    // JSON array of TaskActivityChange
+    @Column(nullable = false, length = 2000)
+    private String changes;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
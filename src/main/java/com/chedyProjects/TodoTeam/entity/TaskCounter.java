@@ -0,0 +1,90 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.io.Serializable;
+
+// One stripe of a scope's task counts (see V4__task_counters.sql). Written only through TaskCounterRepository.add
+// deltas and reconciliation; reads sum every stripe of the caller's scope and their team's shared scope.
+@Entity
+@Table(name = "task_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCounter implements Persistable<TaskCounter.Key> {
+    // A team's unassigned tasks live in scope -teamId; user ids start at 1, so the two never collide
+    public static long sharedScope(Long teamId) {
+        return -teamId;
+    }
+
+    public static boolean isSharedScope(long scopeId) {
+        return scopeId < 0;
+    }
+
+    @EmbeddedId
+    private Key key;
+
+    @Builder.Default
+    @Column(name = "open_count", nullable = false)
+    private long openCount = 0;
+
+    @Builder.Default
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount = 0;
+
+    @Builder.Default
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount = 0;
+
+    // Open tasks per priority
+    @Builder.Default
+    @Column(name = "low_count", nullable = false)
+    private long lowCount = 0;
+
+    @Builder.Default
+    @Column(name = "normal_count", nullable = false)
+    private long normalCount = 0;
+
+    @Builder.Default
+    @Column(name = "high_count", nullable = false)
+    private long highCount = 0;
+
+    // Counter rows are built with their key and only ever inserted through save(), so save() persists them directly
+    // instead of merging, which would first SELECT every new row (16 of them for a new team's shared scope)
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted = false;
+
+    @Override
+    public Key getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "scope_id")
+        private Long scopeId;
+
+        @Column(name = "stripe")
+        private Integer stripe;
+    }
+}
@@ -0,0 +1,49 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+// A reminder that has fired. Owner and assignee are copied so every node can deliver it without reading the task.
+@Entity
+@Table(name = "task_reminders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_reminders_task_kind_due", columnNames = {"task_id", "kind", "due_date"})
+}, indexes = {
+        @Index(name = "idx_task_reminders_fired_at", columnList = "fired_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskReminder {
+    // allocationSize 1: a node taking over the scheduler never reuses a lower id block, see TaskReminderRepository.findAfter
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_reminders_seq")
+    @SequenceGenerator(name = "task_reminders_seq", sequenceName = "task_reminders_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    // The due date the reminder was for; a task whose due date moves can be reminded again
+    @Column(name = "due_date", nullable = false)
+    private Long dueDate;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "assigned_id")
+    private Long assignedId;
+
+    @Column(name = "fired_at", nullable = false)
+    private Instant firedAt;
+
+    public enum Kind {
+        DUE_SOON, OVERDUE
+    }
+}
@@ -0,0 +1,40 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+// Marks a task that was deleted or may have become invisible to some users (e.g. reassigned),
+// so delta sync can tell clients to drop it. Pruned after tasks.sync.tombstone-retention.
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_removed_at", columnList = "removed_at"),
+        @Index(name = "idx_task_tombstones_team_removed_at", columnList = "team_id, removed_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstones_seq")
+    @SequenceGenerator(name = "task_tombstones_seq", sequenceName = "task_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    // Who could see the task before it was removed; a null assignee means the whole team could
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "assigned_id")
+    private Long assignedId;
+
+    @Column(name = "removed_at", nullable = false)
+    private Instant removedAt;
+}
@@ -0,0 +1,36 @@
+package com.chedyProjects.TodoTeam.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+import java.time.Instant;
+
+// A workspace: its members see each other in the directory and share its unassigned tasks
+@Entity
+@Table(name = "teams")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Team {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    private String name;
+
+    // Registering with this code joins the team
+    @Column(name = "invite_code", nullable = false, unique = true, length = 32)
+    private String inviteCode;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void createdTimestamp() {
+        this.createdAt = Instant.now();
+    }
+}
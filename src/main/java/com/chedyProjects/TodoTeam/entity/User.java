@@ -4,10 +4,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import java.time.Instant;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_team_username", columnList = "team_id, username, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,8 @@ import java.util.Set;
 @Builder
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -29,6 +33,18 @@ public class User {
     @NotBlank
     private String password;
 
+    // Fixed at registration; issued tokens carry it as the "team" claim
+    @Column(name = "team_id", nullable = false, updatable = false)
+    private Long teamId;
+
+    // Embedded in issued tokens; bumping it invalidates every outstanding token of this user
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     // Tasks owned by this user
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL)
     private Set<Task> ownedTasks;
@@ -36,5 +52,11 @@ public class User {
     // Tasks assigned to this user
     @OneToMany(mappedBy = "assigned", cascade = CascadeType.ALL)
     private Set<Task> assignedTasks;
+
+    @PrePersist
+    @PreUpdate
+    public void updateTimestamp() {
+        this.updatedAt = Instant.now();
+    }
 }
 
@@ -0,0 +1,43 @@
+package com.chedyProjects.TodoTeam.event;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by TaskService inside the transaction; listeners act on it after commit
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    public enum Type {
+        CREATED, UPDATED, ASSIGNED, DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final Long ownerId;
+    private final Long assignedId;
+    // Assignee before the change; equals assignedId unless the task was (re)assigned
+    private final Long previousAssignedId;
+    // Only members of this team are ever told about the task
+    private final Long teamId;
+    // Null for DELETED
+    private final TaskDto task;
+
+    public static TaskChangedEvent of(Type type, TaskDto task, Long previousAssignedId) {
+        return new TaskChangedEvent(type, task.getId(), task.getOwnerId(), task.getAssignedId(), previousAssignedId,
+                task.getTeamId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, Long ownerId, Long assignedId, Long teamId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, ownerId, assignedId, assignedId, teamId, null);
+    }
+
+    // Same rule as TaskRepository.findAccessibleTasks, for a member of the task's team
+    public boolean isVisibleTo(Long userId) {
+        return assignedId == null || userId.equals(ownerId) || userId.equals(assignedId);
+    }
+
+    public boolean wasVisibleTo(Long userId) {
+        return previousAssignedId == null || userId.equals(ownerId) || userId.equals(previousAssignedId);
+    }
+}
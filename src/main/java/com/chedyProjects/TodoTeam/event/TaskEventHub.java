@@ -0,0 +1,133 @@
+package com.chedyProjects.TodoTeam.event;
+
+import com.chedyProjects.TodoTeam.dto.TaskEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-process fan-out of committed task changes to per-user SSE streams
+@Component
+public class TaskEventHub {
+    private final Map<Long, Set<TaskEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    // Team id -> ids of its users with an open stream here, so a change to an unassigned task only visits that team.
+    // Maintained inside the subscribers.compute calls, which serializes it per user.
+    private final Map<Long, Set<Long>> teamUsers = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor drainers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public TaskEventHub(@Value("${tasks.events.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.events.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        // Each connection parks a drainer in buffer.take(); virtual threads make thousands of idle streams cheap
+        this.drainers = new SimpleAsyncTaskExecutor("task-events-");
+        this.drainers.setVirtualThreads(true);
+    }
+
+    public SseEmitter subscribe(Long userId, Long teamId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        TaskEventSubscriber subscriber = new TaskEventSubscriber(userId, emitter, bufferSize);
+        Runnable unsubscribe = () -> {
+            subscriber.close();
+            subscribers.computeIfPresent(userId, (id, set) -> {
+                set.remove(subscriber);
+                if (!set.isEmpty()) {
+                    return set;
+                }
+                teamUsers.computeIfPresent(teamId, (team, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+                return null;
+            });
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        subscribers.compute(userId, (id, set) -> {
+            Set<TaskEventSubscriber> userSubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            userSubscribers.add(subscriber);
+            teamUsers.compute(teamId, (team, users) -> {
+                Set<Long> members = users != null ? users : ConcurrentHashMap.newKeySet();
+                members.add(userId);
+                return members;
+            });
+            return userSubscribers;
+        });
+        drainers.execute(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getAssignedId() == null || event.getPreviousAssignedId() == null) {
+            // Unassigned before or after the change: potentially relevant to the whole team
+            Set<Long> users = teamUsers.get(event.getTeamId());
+            if (users != null) {
+                users.forEach(userId -> deliver(event, userId));
+            }
+        } else {
+            // Owner, assignee and previous assignee may be the same user, who still gets the event once
+            Set<Long> users = new HashSet<>(3);
+            users.add(event.getOwnerId());
+            users.add(event.getAssignedId());
+            users.add(event.getPreviousAssignedId());
+            users.forEach(userId -> deliver(event, userId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(TaskEventSubscriber::offerHeartbeat));
+    }
+
+    // Events that do not come from a task change on this node, e.g. due-date reminders
+    public void sendToUser(Long userId, TaskEventDto event) {
+        Set<TaskEventSubscriber> set = userId != null ? subscribers.get(userId) : null;
+        if (set != null) {
+            set.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void deliver(TaskChangedEvent event, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Set<TaskEventSubscriber> set = subscribers.get(userId);
+        if (set != null) {
+            deliver(event, userId, set);
+        }
+    }
+
+    private void deliver(TaskChangedEvent event, Long userId, Set<TaskEventSubscriber> set) {
+        TaskEventDto dto = toDto(event, userId);
+        if (dto != null) {
+            set.forEach(subscriber -> subscriber.offer(dto));
+        }
+    }
+
+    private TaskEventDto toDto(TaskChangedEvent event, Long userId) {
+        boolean wasVisible = event.wasVisibleTo(userId);
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            return wasVisible ? new TaskEventDto(event.getType().name(), event.getTaskId(), null) : null;
+        }
+        if (event.isVisibleTo(userId)) {
+            return new TaskEventDto(event.getType().name(), event.getTaskId(), event.getTask());
+        }
+        // Lost access through reassignment: same meaning as a tombstone in /tasks/changes
+        return wasVisible ? new TaskEventDto("REMOVED", event.getTaskId(), null) : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.chedyProjects.TodoTeam.event;
+
+import com.chedyProjects.TodoTeam.dto.TaskEventDto;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// One SSE connection. Publishers only ever offer() into the bounded buffer; a single drainer thread
+// owns the emitter, so a slow client can never block the publishing thread.
+class TaskEventSubscriber {
+    private static final TaskEventDto HEARTBEAT = new TaskEventDto("HEARTBEAT", null, null);
+    private static final TaskEventDto RESYNC = new TaskEventDto("RESYNC", null, null);
+    private static final TaskEventDto CLOSE = new TaskEventDto("CLOSE", null, null);
+
+    @Getter
+    private final Long userId;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<TaskEventDto> buffer;
+    private volatile boolean closed;
+
+    TaskEventSubscriber(Long userId, SseEmitter emitter, int bufferSize) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    synchronized void offer(TaskEventDto event) {
+        if (closed || buffer.offer(event)) {
+            return;
+        }
+        // The client fell behind: drop everything queued and tell it to catch up through /tasks/changes
+        buffer.clear();
+        buffer.offer(RESYNC);
+    }
+
+    synchronized void offerHeartbeat() {
+        if (!closed && buffer.isEmpty()) {
+            buffer.offer(HEARTBEAT);
+        }
+    }
+
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!buffer.offer(CLOSE)) {
+            buffer.clear();
+            buffer.offer(CLOSE);
+        }
+    }
+
+    // Runs on its own (virtual) thread until the connection closes
+    void drain() {
+        try {
+            while (true) {
+                TaskEventDto event = buffer.take();
+                if (event == CLOSE) {
+                    return;
+                }
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    emitter.send(SseEmitter.event().name(event.getType()).data(event));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks unregister us
+            emitter.completeWithError(e);
+        }
+    }
+}
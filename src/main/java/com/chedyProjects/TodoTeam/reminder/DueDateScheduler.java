@@ -0,0 +1,313 @@
+package com.chedyProjects.TodoTeam.reminder;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.entity.TaskReminder;
+import com.chedyProjects.TodoTeam.event.TaskChangedEvent;
+import com.chedyProjects.TodoTeam.repository.DueTask;
+import com.chedyProjects.TodoTeam.repository.TaskReminderRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRow;
+import com.chedyProjects.TodoTeam.service.JobLockService;
+import com.chedyProjects.TodoTeam.service.TaskCounterService;
+import com.chedyProjects.TodoTeam.service.TaskCounterState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Fires DUE_SOON and OVERDUE reminders. One node at a time holds the scheduler lease; it keeps the open tasks due in
+// the next window in a timer wheel, reloaded from idx_tasks_open_due every refresh-interval and kept current by this
+// node's own task changes in between. Each tick fires what has expired in batches: a batch re-reads its tasks, skips
+// anything completed or moved since it was scheduled, and inserts task_reminders rows, whose unique key keeps a
+// reminder from firing twice across leader changes and restarts. TaskReminderFeed delivers the rows on every node.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tasks.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class DueDateScheduler {
+    private static final String JOB = "due-date-scheduler";
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskReminderRepository taskReminderRepository;
+    private final TaskCounterService taskCounterService;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate fireTransaction;
+    private final Map<TaskReminder.Kind, Counter> fired = new HashMap<>();
+    private final long leadMillis;
+    private final long windowMillis;
+    private final long catchUpMillis;
+    private final long refreshMillis;
+    private final Duration lease;
+    private final Duration retention;
+    private final int batchSize;
+
+    // Guarded by this: the wheel, the due date each loaded task was scheduled for, and the reminders already fired
+    // for due dates still inside the catch-up range, so a reload does not schedule them again
+    private final TimerWheel<Reminder> wheel;
+    private final Map<Long, Long> scheduledDueDates = new HashMap<>();
+    private final Set<Reminder> firedReminders = new HashSet<>();
+    private long loadedUntil;
+
+    private volatile boolean leader;
+    private long leaseRenewAt;
+    private long refreshAt;
+
+    record Reminder(Long taskId, TaskReminder.Kind kind, Long dueDate) {
+    }
+
+    public DueDateScheduler(TaskRepository taskRepository, TaskReminderRepository taskReminderRepository,
+                            TaskCounterService taskCounterService, JobLockService jobLockService,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${tasks.reminders.lead:PT15M}") Duration lead,
+                            @Value("${tasks.reminders.window:PT1H}") Duration window,
+                            @Value("${tasks.reminders.catch-up:PT1H}") Duration catchUp,
+                            @Value("${tasks.reminders.refresh-interval:PT1M}") Duration refreshInterval,
+                            @Value("${tasks.reminders.tick:PT1S}") Duration tick,
+                            @Value("${tasks.reminders.lease:PT30S}") Duration lease,
+                            @Value("${tasks.reminders.batch-size:500}") int batchSize,
+                            @Value("${tasks.reminders.retention:7d}") Duration retention) {
+        this.taskRepository = taskRepository;
+        this.taskReminderRepository = taskReminderRepository;
+        this.taskCounterService = taskCounterService;
+        this.jobLockService = jobLockService;
+        this.fireTransaction = new TransactionTemplate(transactionManager);
+        this.leadMillis = lead.toMillis();
+        this.windowMillis = window.toMillis();
+        this.catchUpMillis = catchUp.toMillis();
+        this.refreshMillis = refreshInterval.toMillis();
+        this.lease = lease;
+        this.batchSize = batchSize;
+        // Rows are what stops a reminder in the catch-up range from firing again after a takeover
+        this.retention = retention.compareTo(catchUp.plus(lead)) > 0 ? retention : catchUp.plus(lead).multipliedBy(2);
+        // 64 slots over 3 levels: with one-second ticks the wheel spans about three days
+        this.wheel = new TimerWheel<>(Math.max(1, tick.toMillis()), 6, 3, System.currentTimeMillis());
+        if (windowMillis + leadMillis + refreshMillis > wheel.horizonMillis()) {
+            throw new IllegalStateException("tasks.reminders.window plus lead and refresh-interval exceeds the timer wheel horizon");
+        }
+        for (TaskReminder.Kind kind : TaskReminder.Kind.values()) {
+            fired.put(kind, Counter.builder("tasks.reminders.fired")
+                    .tag("kind", kind.name())
+                    .description("Reminders fired by this node")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("tasks.reminders.scheduled", this, DueDateScheduler::scheduledCount)
+                .description("Reminders waiting in this node's timer wheel; zero unless it holds the scheduler lease")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.reminders.tick:PT1S}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        if (now >= leaseRenewAt) {
+            renewLease(now);
+        }
+        if (!leader) {
+            return;
+        }
+        if (now >= refreshAt) {
+            refresh(now);
+            refreshAt = now + refreshMillis;
+        }
+        List<Reminder> expired;
+        synchronized (this) {
+            expired = wheel.advance(now);
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            fire(expired.subList(from, Math.min(from + batchSize, expired.size())));
+        }
+    }
+
+    // Keeps the wheel in step with changes made on this node; changes made elsewhere are picked up by the next refresh
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!leader) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        TaskDto task = event.getTask();
+        synchronized (this) {
+            if (task == null || task.isCompleted() || task.getDueDate() == null
+                    || task.getDueDate() < now - catchUpMillis || task.getDueDate() >= loadedUntil) {
+                unschedule(event.getTaskId());
+            } else if (!task.getDueDate().equals(scheduledDueDates.get(event.getTaskId()))) {
+                schedule(event.getTaskId(), task.getDueDate(), now);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.reminders.prune-interval:PT1H}")
+    public void pruneReminders() {
+        if (!leader) {
+            return;
+        }
+        fireTransaction.executeWithoutResult(status -> {
+            int removed = taskReminderRepository.deleteOlderThan(Instant.now().minus(retention));
+            if (removed > 0) {
+                log.info("Pruned {} fired task reminders", removed);
+            }
+        });
+    }
+
+    private void renewLease(long now) {
+        boolean wasLeader = leader;
+        try {
+            leader = jobLockService.tryAcquire(JOB, lease);
+        } catch (DataAccessException e) {
+            log.warn("Could not renew the due-date scheduler lease", e);
+            leader = false;
+        }
+        // Renew well before expiry, so one slow tick does not hand the lease to another node
+        leaseRenewAt = now + lease.toMillis() / 3;
+        if (leader != wasLeader) {
+            log.info(leader ? "Took over due-date reminders" : "Lost the due-date scheduler lease");
+            synchronized (this) {
+                // Followers never advance the wheel, so it restarts at now rather than where it stopped
+                wheel.reset(now);
+                scheduledDueDates.clear();
+                firedReminders.clear();
+                loadedUntil = 0;
+            }
+            refreshAt = now;
+        }
+    }
+
+    // Loads open tasks due in [now - catch-up, now + window + lead): OVERDUE for the whole range, DUE_SOON for the ones
+    // whose reminder time falls in the window. Tasks that left the range or were completed elsewhere are dropped.
+    private void refresh(long now) {
+        long from = now - catchUpMillis;
+        long to = now + windowMillis + leadMillis;
+        Map<Long, Long> loaded = new HashMap<>();
+        try {
+            long afterDue = Long.MIN_VALUE;
+            long afterId = Long.MIN_VALUE;
+            List<DueTask> page;
+            do {
+                page = taskRepository.findOpenDueBetween(from, to, afterDue, afterId, Limit.of(LOAD_PAGE_SIZE));
+                for (DueTask task : page) {
+                    loaded.put(task.id(), task.dueDate());
+                }
+                if (!page.isEmpty()) {
+                    afterDue = page.get(page.size() - 1).dueDate();
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } catch (DataAccessException e) {
+            log.warn("Could not load tasks due for reminders; keeping the current schedule", e);
+            return;
+        }
+        synchronized (this) {
+            new ArrayList<>(scheduledDueDates.keySet()).stream()
+                    .filter(taskId -> !loaded.containsKey(taskId))
+                    .forEach(this::unschedule);
+            loaded.forEach((taskId, dueDate) -> {
+                if (!dueDate.equals(scheduledDueDates.get(taskId))) {
+                    schedule(taskId, dueDate, now);
+                }
+            });
+            firedReminders.removeIf(reminder -> reminder.dueDate() < from);
+            loadedUntil = to;
+        }
+    }
+
+    private void schedule(Long taskId, Long dueDate, long now) {
+        unschedule(taskId);
+        scheduledDueDates.put(taskId, dueDate);
+        // No DUE_SOON for a task that is already late
+        if (dueDate > now) {
+            add(new Reminder(taskId, TaskReminder.Kind.DUE_SOON, dueDate), dueDate - leadMillis);
+        }
+        add(new Reminder(taskId, TaskReminder.Kind.OVERDUE, dueDate), dueDate);
+    }
+
+    private void add(Reminder reminder, long deadline) {
+        if (!firedReminders.contains(reminder)) {
+            wheel.schedule(reminder, deadline);
+        }
+    }
+
+    private void unschedule(Long taskId) {
+        Long dueDate = scheduledDueDates.remove(taskId);
+        if (dueDate != null) {
+            wheel.cancel(new Reminder(taskId, TaskReminder.Kind.DUE_SOON, dueDate));
+            wheel.cancel(new Reminder(taskId, TaskReminder.Kind.OVERDUE, dueDate));
+        }
+    }
+
+    private void fire(List<Reminder> batch) {
+        Instant now = Instant.now();
+        List<TaskReminder> inserted;
+        List<Reminder> settled = new ArrayList<>();
+        try {
+            inserted = fireTransaction.execute(status -> {
+                Set<Long> taskIds = batch.stream().map(Reminder::taskId).collect(Collectors.toSet());
+                Map<Long, TaskRow> tasks = taskRepository.findRowsByIdIn(taskIds).stream()
+                        .collect(Collectors.toMap(TaskRow::id, Function.identity()));
+                Set<Reminder> existing = taskReminderRepository.findByTaskIdIn(taskIds).stream()
+                        .map(r -> new Reminder(r.getTaskId(), r.getKind(), r.getDueDate()))
+                        .collect(Collectors.toSet());
+                List<TaskReminder> reminders = new ArrayList<>();
+                for (Reminder reminder : batch) {
+                    TaskRow task = tasks.get(reminder.taskId());
+                    // Fired before a restart or takeover; otherwise skip tasks deleted, completed or rescheduled since
+                    if (existing.contains(reminder)) {
+                        settled.add(reminder);
+                        continue;
+                    }
+                    if (task == null || task.completed() || !reminder.dueDate().equals(task.dueDate())) {
+                        continue;
+                    }
+                    settled.add(reminder);
+                    reminders.add(TaskReminder.builder()
+                            .taskId(task.id())
+                            .kind(reminder.kind())
+                            .dueDate(task.dueDate())
+                            .ownerId(task.ownerId())
+                            .assignedId(task.assignedId())
+                            .firedAt(now)
+                            .build());
+                    // A task still on time at its last write is not in the overdue counter yet
+                    if (reminder.kind() == TaskReminder.Kind.OVERDUE
+                            && (task.lastUpdate() == null || task.lastUpdate().toEpochMilli() < task.dueDate())) {
+                        taskCounterService.recordOverdue(new TaskCounterState(task.teamId(), task.ownerId(), task.assignedId(),
+                                false, task.priority(), task.dueDate()));
+                    }
+                }
+                return taskReminderRepository.saveAll(reminders);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not fire {} task reminders; they are retried after the next refresh", batch.size(), e);
+            synchronized (this) {
+                // Forgetting the tasks makes the next refresh schedule them again
+                batch.forEach(reminder -> unschedule(reminder.taskId()));
+            }
+            return;
+        }
+        synchronized (this) {
+            firedReminders.addAll(settled);
+        }
+        inserted.forEach(reminder -> fired.get(reminder.getKind()).increment());
+    }
+
+    private synchronized int scheduledCount() {
+        return wheel.size();
+    }
+}
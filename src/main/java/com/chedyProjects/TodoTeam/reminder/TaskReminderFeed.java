@@ -0,0 +1,52 @@
+package com.chedyProjects.TodoTeam.reminder;
+
+import com.chedyProjects.TodoTeam.dto.TaskEventDto;
+import com.chedyProjects.TodoTeam.entity.TaskReminder;
+import com.chedyProjects.TodoTeam.event.TaskEventHub;
+import com.chedyProjects.TodoTeam.repository.TaskReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+// Runs on every node: tails task_reminders and pushes new rows to the owner's and assignee's SSE streams here.
+// Starts at the newest row, so a restarted node does not replay old reminders.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "tasks.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReminderFeed {
+    private static final int PAGE_SIZE = 500;
+
+    private final TaskReminderRepository taskReminderRepository;
+    private final TaskEventHub taskEventHub;
+    private Long lastId;
+
+    @Scheduled(fixedDelayString = "${tasks.reminders.delivery-interval:PT2S}")
+    public void deliver() {
+        try {
+            if (lastId == null) {
+                lastId = taskReminderRepository.findMaxId();
+                return;
+            }
+            List<TaskReminder> reminders;
+            do {
+                reminders = taskReminderRepository.findAfter(lastId, Limit.of(PAGE_SIZE));
+                for (TaskReminder reminder : reminders) {
+                    TaskEventDto event = new TaskEventDto(reminder.getKind().name(), reminder.getTaskId(), null);
+                    taskEventHub.sendToUser(reminder.getOwnerId(), event);
+                    if (reminder.getAssignedId() != null && !reminder.getAssignedId().equals(reminder.getOwnerId())) {
+                        taskEventHub.sendToUser(reminder.getAssignedId(), event);
+                    }
+                    lastId = reminder.getId();
+                }
+            } while (reminders.size() == PAGE_SIZE);
+        } catch (DataAccessException e) {
+            log.warn("Could not read fired task reminders", e);
+        }
+    }
+}
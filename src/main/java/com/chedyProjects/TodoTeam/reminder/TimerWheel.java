@@ -0,0 +1,145 @@
+package com.chedyProjects.TodoTeam.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hierarchical timing wheel. Level 0 has one slot per tick; each slot of a higher level spans a full turn of the
+// level below. schedule/cancel are O(1), and advance only visits the slots it passes: entries move down a level
+// as their time approaches and expire from level 0. Deadlines round up to the next tick, so nothing fires early.
+// Not thread-safe.
+final class TimerWheel<K> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Set<K>[][] slots;
+    private final Map<K, Entry> entries = new HashMap<>();
+    // Due at or before the current tick, handed out by the next advance
+    private final Set<K> ready = new LinkedHashSet<>();
+    private long currentTick;
+
+    private record Entry(long deadlineTick, int level, int slot) {
+    }
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int slotBits, int levels, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.bits = slotBits;
+        this.mask = (1 << slotBits) - 1;
+        this.slots = new Set[levels][1 << slotBits];
+        for (Set<K>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new LinkedHashSet<>();
+            }
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    // Furthest deadline, relative to now, that fits in the wheel
+    long horizonMillis() {
+        return ((1L << (bits * slots.length)) - 1) * tickMillis;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Replaces any earlier deadline for the key
+    void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = -Math.floorDiv(-deadlineMillis, tickMillis);
+        if (deadlineTick - currentTick > (1L << (bits * slots.length)) - 1) {
+            throw new IllegalArgumentException("Deadline is beyond the wheel's horizon");
+        }
+        place(key, deadlineTick);
+    }
+
+    boolean cancel(K key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.level() < 0) {
+            ready.remove(key);
+        } else {
+            slots[entry.level()][entry.slot()].remove(key);
+        }
+        return true;
+    }
+
+    // Empties the wheel and restarts it at nowMillis. A wheel that has not been advanced for a while (e.g. on a node
+    // that was not the scheduler) would otherwise walk every missed tick and measure its horizon from the past.
+    void reset(long nowMillis) {
+        currentTick = nowMillis / tickMillis;
+        entries.clear();
+        ready.clear();
+        for (Set<K>[] level : slots) {
+            for (Set<K> slot : level) {
+                slot.clear();
+            }
+        }
+    }
+
+    // Moves time forward and returns every key whose deadline has passed, roughly in deadline order
+    List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        drainReady(expired);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first: a cascaded entry may land in the level-0 slot processed just below
+            for (int level = slots.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+                }
+            }
+            Set<K> slot = slots[0][(int) (currentTick & mask)];
+            for (K key : slot) {
+                entries.remove(key);
+                expired.add(key);
+            }
+            slot.clear();
+            drainReady(expired);
+        }
+        return expired;
+    }
+
+    private void cascade(int level, int index) {
+        Set<K> slot = slots[level][index];
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        for (K key : keys) {
+            place(key, entries.get(key).deadlineTick());
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            ready.add(key);
+            entries.put(key, new Entry(deadlineTick, -1, -1));
+            return;
+        }
+        int level = 0;
+        while (level < slots.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((deadlineTick >>> (bits * level)) & mask);
+        slots[level][index].add(key);
+        entries.put(key, new Entry(deadlineTick, level, index));
+    }
+
+    private void drainReady(List<K> expired) {
+        for (K key : ready) {
+            entries.remove(key);
+            expired.add(key);
+        }
+        ready.clear();
+    }
+}
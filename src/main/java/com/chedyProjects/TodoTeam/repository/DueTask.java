@@ -0,0 +1,5 @@
+package com.chedyProjects.TodoTeam.repository;
+
+// An open task's id and due date, all the reminder scheduler keeps in memory
+public record DueTask(Long id, Long dueDate) {
+}
@@ -0,0 +1,23 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    // Takes an expired lease, or extends our own; the row lock makes concurrent claimants serialize
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedBy = :owner, l.lockedUntil = :until " +
+           "WHERE l.name = :name AND (l.lockedUntil < :now OR l.lockedBy = :owner)")
+    int claim(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
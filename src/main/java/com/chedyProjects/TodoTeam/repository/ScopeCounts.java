@@ -0,0 +1,9 @@
+package com.chedyProjects.TodoTeam.repository;
+
+// TaskCounts of one counter scope, as produced by the aggregate queries in TaskCounterRepository
+public record ScopeCounts(Long scopeId, long open, long completed, long overdue, long low, long normal, long high) {
+
+    public TaskCounts counts() {
+        return new TaskCounts(open, completed, overdue, low, normal, high);
+    }
+}
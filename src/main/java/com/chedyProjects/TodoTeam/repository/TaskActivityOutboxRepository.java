@@ -0,0 +1,19 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.TaskActivityOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.List;
+
+public interface TaskActivityOutboxRepository extends JpaRepository<TaskActivityOutbox, Long> {
+    // FOR UPDATE SKIP LOCKED: writers on several nodes each take different entries instead of waiting on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM TaskActivityOutbox o ORDER BY o.id")
+    List<TaskActivityOutbox> lockOldest(Limit limit);
+}
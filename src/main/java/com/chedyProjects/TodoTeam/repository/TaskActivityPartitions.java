@@ -0,0 +1,103 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Creates and drops the monthly partitions of task_activity, named task_activity_YYYY_MM and bounded in UTC.
+// PostgreSQL only: elsewhere (H2 in the benchmarks) task_activity is a plain table and both calls do nothing.
+@Repository
+public class TaskActivityPartitions {
+    private static final String PREFIX = "task_activity_";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Returns the partitions it created; months that already have one are skipped
+    @Transactional
+    public List<String> createThrough(YearMonth from, YearMonth to) {
+        List<String> created = new ArrayList<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (!isPostgres(connection)) {
+                return;
+            }
+            List<String> existing = list(connection);
+            try (Statement statement = connection.createStatement()) {
+                for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                    String name = PREFIX + month.format(SUFFIX);
+                    if (existing.contains(name)) {
+                        continue;
+                    }
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF task_activity FOR VALUES FROM ('" +
+                            month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC) + "') TO ('" +
+                            month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC) + "')");
+                    created.add(name);
+                }
+            }
+        });
+        return created;
+    }
+
+    // Drops every partition for a month before the given one, with its rows; returns the dropped partitions
+    @Transactional
+    public List<String> dropBefore(YearMonth month) {
+        List<String> dropped = new ArrayList<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (!isPostgres(connection)) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String name : list(connection)) {
+                    YearMonth partitionMonth = monthOf(name);
+                    if (partitionMonth != null && partitionMonth.isBefore(month)) {
+                        statement.execute("DROP TABLE " + name);
+                        dropped.add(name);
+                    }
+                }
+            }
+        });
+        return dropped;
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static List<String> list(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT c.relname FROM pg_inherits i " +
+                     "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                     "WHERE p.relname = 'task_activity'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    // Null for partitions not created by this class, which are left alone
+    private static YearMonth monthOf(String name) {
+        if (!name.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(name.substring(PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.TaskActivity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskActivityRepository extends JpaRepository<TaskActivity, Long> {
+    // Newest first, keyset-paged in the order of idx_task_activity_task
+    @Query("SELECT a FROM TaskActivity a WHERE a.taskId = :taskId ORDER BY a.occurredAt DESC, a.id DESC")
+    List<TaskActivity> findByTask(@Param("taskId") Long taskId, Limit limit);
+
+    @Query("SELECT a FROM TaskActivity a WHERE a.taskId = :taskId AND " +
+           "(a.occurredAt < :beforeAt OR (a.occurredAt = :beforeAt AND a.id < :beforeId)) " +
+           "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<TaskActivity> findByTaskBefore(@Param("taskId") Long taskId, @Param("beforeAt") Instant beforeAt,
+                                        @Param("beforeId") Long beforeId, Limit limit);
+}
@@ -0,0 +1,64 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.TaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+    // The counts a task contributes to a scope; the aggregates below must match TaskCounterState.counts()
+    String TASK_COUNTS = "coalesce(sum(case when t.isCompleted = false then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.isCompleted = true then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.isCompleted = false and t.dueDate < :now then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.isCompleted = false and t.priority = LOW then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.isCompleted = false and t.priority = NORMAL then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.isCompleted = false and t.priority = HIGH then 1 else 0 end), 0)";
+
+    String STORED_COUNTS = "coalesce(sum(c.openCount), 0), coalesce(sum(c.completedCount), 0), " +
+            "coalesce(sum(c.overdueCount), 0), coalesce(sum(c.lowCount), 0), " +
+            "coalesce(sum(c.normalCount), 0), coalesce(sum(c.highCount), 0)";
+
+    // Relative update, so concurrent writers to the same row never lose each other's deltas
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.openCount = c.openCount + :#{#delta.open()}, " +
+           "c.completedCount = c.completedCount + :#{#delta.completed()}, " +
+           "c.overdueCount = c.overdueCount + :#{#delta.overdue()}, " +
+           "c.lowCount = c.lowCount + :#{#delta.low()}, " +
+           "c.normalCount = c.normalCount + :#{#delta.normal()}, " +
+           "c.highCount = c.highCount + :#{#delta.high()} " +
+           "WHERE c.key.scopeId = :scopeId AND c.key.stripe = :stripe")
+    int add(@Param("scopeId") Long scopeId, @Param("stripe") int stripe, @Param("delta") TaskCounts delta);
+
+    // At most a handful of primary-key rows, however many tasks the scopes hold
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.TaskCounts(" + STORED_COUNTS + ") " +
+           "FROM TaskCounter c WHERE c.key.scopeId IN :scopeIds")
+    TaskCounts sumByScopeIds(@Param("scopeIds") Collection<Long> scopeIds);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.ScopeCounts(c.key.scopeId, " + STORED_COUNTS + ") " +
+           "FROM TaskCounter c WHERE c.key.scopeId BETWEEN :from AND :to GROUP BY c.key.scopeId")
+    List<ScopeCounts> sumByScopeRange(@Param("from") Long from, @Param("to") Long to);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.ScopeCounts(c.key.scopeId, " + STORED_COUNTS + ") " +
+           "FROM TaskCounter c WHERE c.key.scopeId IN :scopeIds GROUP BY c.key.scopeId")
+    List<ScopeCounts> sumEachScope(@Param("scopeIds") Collection<Long> scopeIds);
+
+    @Query("SELECT c.key FROM TaskCounter c WHERE c.key.scopeId IN :scopeIds")
+    List<TaskCounter.Key> findKeys(@Param("scopeIds") Collection<Long> scopeIds);
+
+    // Reconciliation: the true counts, computed the way the deltas are applied (see V4__task_counters.sql).
+    // Unassigned tasks are grouped by team id; the caller maps each to the team's shared scope.
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.ScopeCounts(t.teamId, " + TASK_COUNTS + ") " +
+           "FROM Task t WHERE t.assigned IS NULL AND t.teamId IN :teamIds GROUP BY t.teamId")
+    List<ScopeCounts> countUnassignedByTeam(@Param("teamIds") Collection<Long> teamIds, @Param("now") Long now);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.ScopeCounts(t.owner.id, " + TASK_COUNTS + ") " +
+           "FROM Task t WHERE t.assigned IS NOT NULL AND t.owner.id BETWEEN :from AND :to GROUP BY t.owner.id")
+    List<ScopeCounts> countAssignedByOwner(@Param("from") Long from, @Param("to") Long to, @Param("now") Long now);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.ScopeCounts(t.assigned.id, " + TASK_COUNTS + ") " +
+           "FROM Task t WHERE t.assigned.id <> t.owner.id AND t.assigned.id BETWEEN :from AND :to GROUP BY t.assigned.id")
+    List<ScopeCounts> countAssignedToOthers(@Param("from") Long from, @Param("to") Long to, @Param("now") Long now);
+}
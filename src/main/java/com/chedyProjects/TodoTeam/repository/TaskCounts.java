@@ -0,0 +1,23 @@
+package com.chedyProjects.TodoTeam.repository;
+
+// Counter values of one scope, or the difference between two states of it. Priority counts cover open tasks only.
+public record TaskCounts(long open, long completed, long overdue, long low, long normal, long high) {
+    public static final TaskCounts ZERO = new TaskCounts(0, 0, 0, 0, 0, 0);
+
+    public TaskCounts plus(TaskCounts other) {
+        return new TaskCounts(open + other.open, completed + other.completed, overdue + other.overdue,
+                low + other.low, normal + other.normal, high + other.high);
+    }
+
+    public TaskCounts minus(TaskCounts other) {
+        return plus(other.negate());
+    }
+
+    public TaskCounts negate() {
+        return new TaskCounts(-open, -completed, -overdue, -low, -normal, -high);
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+}
@@ -0,0 +1,123 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+// Inserts imported tasks below the ORM: PostgreSQL COPY when available, a single JDBC batch otherwise (H2).
+// Rows skip the persistence context entirely, so a batch costs one round trip plus id allocation.
+@Repository
+public class TaskImportWriter {
+    // Must match Task's @SequenceGenerator: each nextval hands out the 50 ids ending at the returned value
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final String COLUMNS = "id, title, description, priority, is_completed, due_date, last_update, version, owner_id, assigned_id, team_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public record Row(String title, String description, Task.Priority priority, boolean completed, Long dueDate, Long assigneeId) {
+    }
+
+    // One transaction per batch; a failure rolls back only this batch
+    @Transactional
+    public void insert(Long ownerId, Long teamId, List<Row> rows) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            long[] ids = allocateIds(connection, rows.size());
+            Instant now = Instant.now();
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection.unwrap(PGConnection.class), rows, ids, ownerId, teamId, now);
+            } else {
+                batchInsert(connection, rows, ids, ownerId, teamId, now);
+            }
+        });
+    }
+
+    // Same pooled-range semantics as Hibernate's optimizer, so imported ids never collide with ORM inserts.
+    // A value below the allocation size is the sequence's first range, which Hibernate treats specially; skip it.
+    private static long[] allocateIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT nextval('tasks_seq')")) {
+            while (filled < count) {
+                long hi;
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    hi = rs.getLong(1);
+                }
+                if (hi < ID_ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = hi - ID_ALLOCATION_SIZE + 1; id <= hi && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void copy(PGConnection connection, List<Row> rows, long[] ids, Long ownerId, Long teamId, Instant now)
+            throws SQLException {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        String lastUpdate = now.toString();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            csv.append(ids[i]).append(',')
+                    .append(quote(row.title())).append(',')
+                    .append(quote(row.description())).append(',')
+                    .append(row.priority().name()).append(',')
+                    .append(row.completed()).append(',')
+                    .append(row.dueDate() != null ? row.dueDate() : "").append(',')
+                    .append(lastUpdate).append(",0,")
+                    .append(ownerId).append(',')
+                    .append(row.assigneeId() != null ? row.assigneeId() : "").append(',')
+                    .append(teamId).append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn("COPY tasks (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into tasks failed", e);
+        }
+    }
+
+    private static void batchInsert(Connection connection, List<Row> rows, long[] ids, Long ownerId, Long teamId, Instant now)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tasks (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)")) {
+            Timestamp lastUpdate = Timestamp.from(now);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                statement.setLong(1, ids[i]);
+                statement.setString(2, row.title());
+                statement.setString(3, row.description());
+                statement.setString(4, row.priority().name());
+                statement.setBoolean(5, row.completed());
+                statement.setObject(6, row.dueDate(), Types.BIGINT);
+                statement.setTimestamp(7, lastUpdate);
+                statement.setLong(8, ownerId);
+                statement.setObject(9, row.assigneeId(), Types.BIGINT);
+                statement.setLong(10, teamId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL and "" is an empty string
+    private static String quote(String text) {
+        return text == null ? "" : '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
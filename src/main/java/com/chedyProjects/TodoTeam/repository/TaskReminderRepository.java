@@ -0,0 +1,26 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.TaskReminder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskReminderRepository extends JpaRepository<TaskReminder, Long> {
+    List<TaskReminder> findByTaskIdIn(Collection<Long> taskIds);
+
+    // Only the scheduling node inserts, one batch at a time, so ids become visible in increasing order
+    @Query("SELECT r FROM TaskReminder r WHERE r.id > :afterId ORDER BY r.id")
+    List<TaskReminder> findAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT coalesce(max(r.id), 0) FROM TaskReminder r")
+    Long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM TaskReminder r WHERE r.firedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
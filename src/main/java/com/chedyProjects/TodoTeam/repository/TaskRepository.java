@@ -1,23 +1,94 @@
 package com.chedyProjects.TodoTeam.repository;
 
 import com.chedyProjects.TodoTeam.entity.Task;
+import com.chedyProjects.TodoTeam.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    @Query("SELECT t FROM Task t WHERE " +
-           "(t.assigned IS NULL) OR " +
-           "(t.owner.id = :userId) OR " + 
-           "(t.assigned.id = :userId)")
-    List<Task> findAccessibleTasks(@Param("userId") Long userId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    // Every access query is "same team AND (unassigned OR owner OR assignee)". The team condition sits at the top
+    // level so PostgreSQL prunes the hash-partitioned tasks table to the caller's team's partition.
+    @Query("SELECT t FROM Task t WHERE t.teamId = :teamId AND " +
+           "((t.assigned IS NULL) OR " +
+           "(t.owner.id = :userId) OR " +
+           "(t.assigned.id = :userId))")
+    List<Task> findAccessibleTasks(@Param("userId") Long userId, @Param("teamId") Long teamId);
 
-    @Query("SELECT t FROM Task t WHERE t.id = :id AND " +
+    @Query(TaskRow.SELECT + "FROM Task t WHERE t.id = :id AND t.teamId = :teamId AND " +
            "((t.assigned IS NULL) OR " +
-           "(t.owner.id = :userId) OR " + 
+           "(t.owner.id = :userId) OR " +
            "(t.assigned.id = :userId))")
-    Optional<Task> findAccessibleTaskById(@Param("id") Long id, @Param("userId") Long userId);
-}
+    Optional<TaskRow> findAccessibleTaskById(@Param("id") Long id, @Param("userId") Long userId, @Param("teamId") Long teamId);
+
+    // Forward-only cursor for exports: the driver fetches 500 rows at a time and projections never enter the
+    // persistence context, so memory stays flat. Must be consumed and closed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TaskRow.SELECT + "FROM Task t WHERE t.teamId = :teamId AND " +
+           "((t.assigned IS NULL) OR " +
+           "(t.owner.id = :userId) OR " +
+           "(t.assigned.id = :userId)) " +
+           "ORDER BY t.id")
+    Stream<TaskRow> streamAccessibleTasks(@Param("userId") Long userId, @Param("teamId") Long teamId);
+
+    // Just the version column, so an unchanged task can answer 304 without reading the row
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id AND t.teamId = :teamId AND " +
+           "((t.assigned IS NULL) OR " +
+           "(t.owner.id = :userId) OR " +
+           "(t.assigned.id = :userId))")
+    Optional<Long> findAccessibleTaskVersion(@Param("id") Long id, @Param("userId") Long userId, @Param("teamId") Long teamId);
 
+    // Delta sync: keyset-paged over (lastUpdate, id), so any number of rows sharing one timestamp still pages forward
+    @Query(TaskRow.SELECT + "FROM Task t WHERE t.teamId = :teamId AND " +
+           "(t.lastUpdate > :afterLastUpdate OR (t.lastUpdate = :afterLastUpdate AND t.id > :afterId)) AND " +
+           "((t.assigned IS NULL) OR " +
+           "(t.owner.id = :userId) OR " +
+           "(t.assigned.id = :userId)) " +
+           "ORDER BY t.lastUpdate ASC, t.id ASC")
+    List<TaskRow> findAccessibleTasksChangedAfter(@Param("userId") Long userId, @Param("teamId") Long teamId,
+                                                  @Param("afterLastUpdate") Instant afterLastUpdate,
+                                                  @Param("afterId") Long afterId, Limit limit);
+
+    // Writes load tasks within the caller's team only; another team's task id is simply not found
+    Optional<Task> findByIdAndTeamId(Long id, Long teamId);
+
+    // Bulk writes: FOR UPDATE, so no other writer can change these tasks before the request's single flush. Locked in
+    // id order, so two bulk requests touching the same tasks wait on each other instead of deadlocking.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.teamId = :teamId ORDER BY t.id")
+    List<Task> lockByIdInAndTeamId(@Param("ids") Collection<Long> ids, @Param("teamId") Long teamId);
+
+    // Reminder scheduler: open tasks due in [from, to), keyset-paged in the order of idx_tasks_open_due
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.DueTask(t.id, t.dueDate) FROM Task t " +
+           "WHERE t.isCompleted = false AND t.dueDate >= :from AND t.dueDate < :to AND " +
+           "(t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId)) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<DueTask> findOpenDueBetween(@Param("from") Long from, @Param("to") Long to,
+                                     @Param("afterDue") Long afterDue, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TaskRow.SELECT + "FROM Task t WHERE t.id IN :ids")
+    List<TaskRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Claims an unassigned task in one statement; the row lock makes concurrent claims serialize and all but one match 0 rows.
+    // Bulk updates skip entity callbacks, so lastUpdate and version are maintained here.
+    @Modifying
+    @Query("UPDATE Task t SET t.assigned = :assignee, t.lastUpdate = :now, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.teamId = :teamId AND t.assigned IS NULL")
+    int claimUnassigned(@Param("id") Long id, @Param("teamId") Long teamId, @Param("assignee") User assignee,
+                        @Param("now") Instant now);
+}
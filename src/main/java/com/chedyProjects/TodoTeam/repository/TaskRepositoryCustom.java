@@ -0,0 +1,16 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.dto.TaskFilter;
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    // Keyset page ordered by (lastUpdate DESC, id DESC); afterLastUpdate/afterId identify the last row of the previous page
+    List<TaskRow> findAccessibleTasksPage(Long userId, Long teamId, TaskFilter filter, Instant afterLastUpdate, Long afterId, int limit);
+
+    // Row count and newest lastUpdate over the same predicate as the page query, for conditional GET
+    VersionStamp findAccessibleTasksStamp(Long userId, Long teamId, TaskFilter filter);
+
+    // Full-text matches of a to_tsquery expression, ordered by (rank DESC, id DESC); PostgreSQL only
+    List<TaskSearchHit> searchAccessibleTasks(Long userId, Long teamId, String tsQuery, Float afterRank, Long afterId, int limit);
+}
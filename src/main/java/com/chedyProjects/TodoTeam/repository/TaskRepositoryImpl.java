@@ -0,0 +1,125 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.dto.TaskFilter;
+import com.chedyProjects.TodoTeam.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findAccessibleTasksPage(Long userId, Long teamId, TaskFilter filter, Instant afterLastUpdate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(TaskRow.SELECT);
+        Map<String, Object> params = new HashMap<>();
+        appendAccessibleFilter(jpql, params, userId, teamId, filter);
+        if (afterLastUpdate != null && afterId != null) {
+            jpql.append(" AND (t.lastUpdate < :afterLastUpdate OR (t.lastUpdate = :afterLastUpdate AND t.id < :afterId))");
+            params.put("afterLastUpdate", afterLastUpdate);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY t.lastUpdate DESC, t.id DESC");
+
+        TypedQuery<TaskRow> query = entityManager.createQuery(jpql.toString(), TaskRow.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public VersionStamp findAccessibleTasksStamp(Long userId, Long teamId, TaskFilter filter) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.chedyProjects.TodoTeam.repository.VersionStamp(count(t), max(t.lastUpdate)) ");
+        Map<String, Object> params = new HashMap<>();
+        appendAccessibleFilter(jpql, params, userId, teamId, filter);
+
+        TypedQuery<VersionStamp> query = entityManager.createQuery(jpql.toString(), VersionStamp.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public List<TaskSearchHit> searchAccessibleTasks(Long userId, Long teamId, String tsQuery, Float afterRank, Long afterId, int limit) {
+        // Native SQL: JPQL has no @@ operator. The GIN index on search_vector finds the matches, then only those are ranked.
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.title, t.description, t.priority, t.is_completed, t.due_date, t.owner_id, t.assigned_id, " +
+                "t.team_id, t.last_update, t.version, ts_rank(t.search_vector, query) AS search_rank " +
+                "FROM tasks t CROSS JOIN to_tsquery('simple', :query) AS query " +
+                "WHERE t.team_id = :teamId AND t.search_vector @@ query AND " +
+                "(t.assigned_id IS NULL OR t.owner_id = :userId OR t.assigned_id = :userId)");
+        if (afterRank != null && afterId != null) {
+            sql.append(" AND (ts_rank(t.search_vector, query), t.id) < (:afterRank, :afterId)");
+        }
+        sql.append(" ORDER BY search_rank DESC, t.id DESC LIMIT :limit");
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        query.addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("is_completed", Boolean.class)
+                .addScalar("due_date", Long.class)
+                .addScalar("owner_id", Long.class)
+                .addScalar("assigned_id", Long.class)
+                .addScalar("team_id", Long.class)
+                .addScalar("last_update", Instant.class)
+                .addScalar("version", Long.class)
+                .addScalar("search_rank", Float.class);
+        query.setParameter("query", tsQuery);
+        query.setParameter("userId", userId);
+        query.setParameter("teamId", teamId);
+        if (afterRank != null && afterId != null) {
+            query.setParameter("afterRank", afterRank);
+            query.setParameter("afterId", afterId);
+        }
+        query.setParameter("limit", limit);
+        return query.getResultList().stream()
+                .map(row -> new TaskSearchHit(new TaskRow((Long) row[0], (String) row[1], (String) row[2],
+                        Task.Priority.valueOf((String) row[3]), (Boolean) row[4], (Long) row[5], (Long) row[6],
+                        (Long) row[7], (Long) row[8], (Instant) row[9], (Long) row[10]), (Float) row[11]))
+                .toList();
+    }
+
+    private static void appendAccessibleFilter(StringBuilder jpql, Map<String, Object> params, Long userId, Long teamId,
+                                               TaskFilter filter) {
+        jpql.append("FROM Task t WHERE t.teamId = :teamId AND " +
+                "((t.assigned IS NULL) OR " +
+                "(t.owner.id = :userId) OR " +
+                "(t.assigned.id = :userId))");
+        params.put("userId", userId);
+        params.put("teamId", teamId);
+
+        // Only append the predicates that are actually set so the planner sees a concrete query shape
+        if (filter.getCompleted() != null) {
+            jpql.append(" AND t.isCompleted = :completed");
+            params.put("completed", filter.getCompleted());
+        }
+        if (filter.getPriority() != null) {
+            jpql.append(" AND t.priority = :priority");
+            params.put("priority", Task.Priority.valueOf(filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            jpql.append(" AND t.dueDate >= :dueFrom");
+            params.put("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            jpql.append(" AND t.dueDate <= :dueTo");
+            params.put("dueTo", filter.getDueTo());
+        }
+        if (filter.getOwnerId() != null) {
+            jpql.append(" AND t.owner.id = :ownerId");
+            params.put("ownerId", filter.getOwnerId());
+        }
+        if (filter.getAssigneeId() != null) {
+            jpql.append(" AND t.assigned.id = :assigneeId");
+            params.put("assigneeId", filter.getAssigneeId());
+        }
+    }
+}
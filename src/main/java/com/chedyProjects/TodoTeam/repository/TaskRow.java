@@ -0,0 +1,19 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.entity.Task;
+import java.time.Instant;
+
+// Read-only projection of a task row. Built by JPQL constructor expressions, so reads skip entity hydration,
+// dirty-checking snapshots and User proxies; owner/assigned ids come straight from the FK columns.
+public record TaskRow(Long id, String title, String description, Task.Priority priority, boolean completed,
+                      Long dueDate, Long ownerId, Long assignedId, Long teamId, Instant lastUpdate, Long version) {
+
+    public static final String SELECT = "SELECT new com.chedyProjects.TodoTeam.repository.TaskRow(" +
+            "t.id, t.title, t.description, t.priority, t.isCompleted, t.dueDate, t.owner.id, t.assigned.id, t.teamId, t.lastUpdate, t.version) ";
+
+    public TaskDto toDto() {
+        return new TaskDto(id, title, description, priority.name(), completed, dueDate, ownerId, assignedId, teamId,
+                lastUpdate != null ? lastUpdate.toEpochMilli() : null, version);
+    }
+}
@@ -0,0 +1,5 @@
+package com.chedyProjects.TodoTeam.repository;
+
+// A search result and its ts_rank, which is part of the keyset cursor
+public record TaskSearchHit(TaskRow task, float rank) {
+}
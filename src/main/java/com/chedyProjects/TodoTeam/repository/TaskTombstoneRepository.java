@@ -0,0 +1,33 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    // Tombstones of tasks the user could see before the change and can no longer see now; ids the user can still see
+    // come back through the changed list instead. Keyset-paged over (removedAt, id). Tasks never change team, so only
+    // the caller's team's tombstones can concern them.
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.teamId = :teamId AND " +
+           "(tt.removedAt > :afterRemovedAt OR (tt.removedAt = :afterRemovedAt AND tt.id > :afterId)) AND " +
+           "((tt.assignedId IS NULL) OR " +
+           "(tt.ownerId = :userId) OR " +
+           "(tt.assignedId = :userId)) AND NOT EXISTS (" +
+           "SELECT 1 FROM Task t WHERE t.id = tt.taskId AND t.teamId = :teamId AND " +
+           "((t.assigned IS NULL) OR " +
+           "(t.owner.id = :userId) OR " +
+           "(t.assigned.id = :userId))) " +
+           "ORDER BY tt.removedAt ASC, tt.id ASC")
+    List<TaskTombstone> findRemovedAfter(@Param("userId") Long userId, @Param("teamId") Long teamId,
+                                         @Param("afterRemovedAt") Instant afterRemovedAt, @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.removedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,17 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import com.chedyProjects.TodoTeam.entity.Team;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+import java.util.Optional;
+
+public interface TeamRepository extends JpaRepository<Team, Long> {
+    Optional<Team> findByInviteCode(String inviteCode);
+
+    // Walks all teams in id order, a batch at a time (task counter reconciliation)
+    @Query("SELECT t.id FROM Team t WHERE t.id > :after ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+}
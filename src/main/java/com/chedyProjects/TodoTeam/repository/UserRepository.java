@@ -1,11 +1,52 @@
 package com.chedyProjects.TodoTeam.repository;
 
+import com.chedyProjects.TodoTeam.dto.UserDto;
 import com.chedyProjects.TodoTeam.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
 
+    // Directory queries project straight into UserDto so no User entities are hydrated.
+    // A directory lists one team; the team_id-leading indexes from V7 serve each of them.
+    @Query("SELECT new com.chedyProjects.TodoTeam.dto.UserDto(u.id, u.username, u.email) FROM User u " +
+           "WHERE u.teamId = :teamId ORDER BY u.username, u.id")
+    Slice<UserDto> findDirectory(@Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.dto.UserDto(u.id, u.username, u.email) FROM User u WHERE " +
+           "u.teamId = :teamId AND " +
+           "(lower(u.username) LIKE :prefix ESCAPE '\\' OR " +
+           "lower(u.email) LIKE :prefix ESCAPE '\\') " +
+           "ORDER BY u.username, u.id")
+    Slice<UserDto> searchDirectory(@Param("teamId") Long teamId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.VersionStamp(count(u), max(u.updatedAt)) FROM User u " +
+           "WHERE u.teamId = :teamId")
+    VersionStamp findDirectoryStamp(@Param("teamId") Long teamId);
+
+    @Query("SELECT new com.chedyProjects.TodoTeam.repository.VersionStamp(count(u), max(u.updatedAt)) FROM User u WHERE " +
+           "u.teamId = :teamId AND " +
+           "(lower(u.username) LIKE :prefix ESCAPE '\\' OR " +
+           "lower(u.email) LIKE :prefix ESCAPE '\\')")
+    VersionStamp searchDirectoryStamp(@Param("teamId") Long teamId, @Param("prefix") String prefix);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersion(@Param("id") Long id);
+
+    // Walks all users in id order, a batch at a time (task counter reconciliation)
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+}
@@ -0,0 +1,12 @@
+package com.chedyProjects.TodoTeam.repository;
+
+import java.time.Instant;
+
+// Row count plus newest modification time of a result set; cheap to aggregate and changes whenever the set does
+public record VersionStamp(Long count, Instant lastModified) {
+
+    public String toETag() {
+        long modified = lastModified != null ? lastModified.getEpochSecond() * 1_000_000 + lastModified.getNano() / 1_000 : 0;
+        return "W/\"" + count + "-" + modified + "\"";
+    }
+}
@@ -0,0 +1,88 @@
+package com.chedyProjects.TodoTeam.security;
+
+import com.chedyProjects.TodoTeam.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Locale;
+
+// In-memory token buckets for /auth/login and /auth/register, keyed per client IP and per email.
+// The IP bucket stops credential stuffing from one source; the email bucket stops spraying one account from many.
+@Component
+public class AuthRateLimiter {
+    private final Cache<String, TokenBucket> buckets;
+    private final boolean enabled;
+    private final int ipCapacity;
+    private final int ipPerMinute;
+    private final int emailCapacity;
+    private final int emailPerMinute;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(@Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${auth.rate-limit.per-ip.capacity:20}") int ipCapacity,
+                           @Value("${auth.rate-limit.per-ip.per-minute:20}") int ipPerMinute,
+                           @Value("${auth.rate-limit.per-email.capacity:5}") int emailCapacity,
+                           @Value("${auth.rate-limit.per-email.per-minute:5}") int emailPerMinute,
+                           @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.ipPerMinute = ipPerMinute;
+        this.emailCapacity = emailCapacity;
+        this.emailPerMinute = emailPerMinute;
+        this.meterRegistry = meterRegistry;
+        // An idle bucket refills completely well within this, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public void check(String action, String ip, String email) {
+        if (!enabled) {
+            return;
+        }
+        consume(action, "ip", ip, ipCapacity, ipPerMinute);
+        if (email != null) {
+            consume(action, "email", email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailPerMinute);
+        }
+    }
+
+    private void consume(String action, String scope, String key, int capacity, int perMinute) {
+        TokenBucket bucket = buckets.get(action + ':' + scope + ':' + key, k -> new TokenBucket(capacity, perMinute));
+        long waitNanos = bucket.tryConsume();
+        if (waitNanos > 0) {
+            meterRegistry.counter("auth.rate-limit.rejected", "action", action, "scope", scope).increment();
+            throw new TooManyRequestsException(Math.max(1, Duration.ofNanos(waitNanos).toSeconds() + 1));
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, int perMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = perMinute / (double) Duration.ofMinutes(1).toNanos();
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        // 0 when a token was taken, otherwise the nanoseconds until the next one is available
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
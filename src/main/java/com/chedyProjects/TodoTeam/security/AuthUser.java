@@ -0,0 +1,25 @@
+package com.chedyProjects.TodoTeam.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.security.Principal;
+import java.time.Instant;
+
+// Authenticated principal built from the JWT claims alone, so controllers never need to reload the user
+@Getter
+@AllArgsConstructor
+public class AuthUser implements Principal {
+    private final Long id;
+    private final String email;
+    // Every task, directory and stream query is scoped to this team
+    private final Long teamId;
+    private final int tokenVersion;
+    // jti and exp of the access token, used to revoke this one token on logout
+    private final String tokenId;
+    private final Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,29 +1,46 @@
 package com.chedyProjects.TodoTeam.security;
 
-import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.cache.CachedUser;
 import com.chedyProjects.TodoTeam.repository.UserRepository;
+import com.chedyProjects.TodoTeam.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final UserService userService;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        CachedUser user = userService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
+                user.email(),
+                user.passwordHash(),
                 Collections.singletonList(new SimpleGrantedAuthority("USER"))
         );
     }
+
+    // Called by the authentication provider after a successful login whose hash used a lower BCrypt cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByEmail(user.getUsername()).ifPresent(entity -> {
+            entity.setPassword(newPassword);
+            userService.evict(entity.getId(), entity.getEmail());
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
 
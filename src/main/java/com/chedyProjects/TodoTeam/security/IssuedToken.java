@@ -0,0 +1,7 @@
+package com.chedyProjects.TodoTeam.security;
+
+import java.time.Instant;
+
+// A freshly signed access token together with its jti and expiry
+public record IssuedToken(String value, String id, Instant expiresAt) {
+}
@@ -1,58 +1,157 @@
 package com.chedyProjects.TodoTeam.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
     private final Key key;
     private final long expiration;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+    // Verified claims keyed by SHA-256 of the token; an entry never outlives the token's own exp
+    private final Cache<String, Claims> verifiedTokens;
+    // Set once the registry binds us; null until then (e.g. when constructed outside Spring)
+    private volatile Timer verificationTimer;
 
     public JwtUtil(@Value("${jwt.secret}") String secret,
-                   @Value("${jwt.expiration}") long expiration) {
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${jwt.cache.ttl:5m}") Duration cacheTtl) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expiration = expiration;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
     }
 
-    public String generateToken(Long userId, String email) {
-        return Jwts.builder()
+    public String generateToken(Long userId, String email, int tokenVersion, Long teamId) {
+        return issue(userId, email, tokenVersion, teamId).value();
+    }
+
+    // Every access token carries a random jti so it can be revoked individually (TokenRevocationList)
+    public IssuedToken issue(Long userId, String email, int tokenVersion, Long teamId) {
+        String tokenId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        Date expiresAt = new Date(now + expiration);
+        String token = Jwts.builder()
+                .setId(tokenId)
                 .setSubject(email)
                 .claim("id", userId)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .claim("ver", tokenVersion)
+                .claim("team", teamId)
+                .setIssuedAt(new Date(now))
+                .setExpiration(expiresAt)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
+        return new IssuedToken(token, tokenId, expiresAt.toInstant());
+    }
+
+    public long getExpiration() {
+        return expiration;
     }
 
+    // Uncached and untimed; request code goes through verify(). Public for the JWT benchmark's uncached baseline.
     public Claims extractClaims(String token) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new JwtException("Token expired");
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid token");
         }
     }
 
-    public boolean isTokenValid(String token) {
-        try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+    // Single verification pass for the request path: a cache hit skips both the HMAC check and JSON parsing.
+    // Failures are never cached, so a bad token is re-verified (and rejected) every time.
+    public Claims verify(String token) {
+        return verifiedTokens.get(hash(token), k -> verifyUncached(token));
+    }
+
+    // Signature check and claims parsing on a cache miss, timed as jwt.verification
+    private Claims verifyUncached(String token) {
+        Timer timer = verificationTimer;
+        return timer != null ? timer.record(() -> extractClaims(token)) : extractClaims(token);
+    }
+
+    public AuthUser toAuthUser(Claims claims) {
+        Long id = claims.get("id", Long.class);
+        Integer version = claims.get("ver", Integer.class);
+        Long teamId = claims.get("team", Long.class);
+        // Tokens issued before teams existed carry no team; the client gets a new one from /auth/refresh
+        if (id == null || teamId == null || claims.getSubject() == null) {
+            throw new JwtException("Invalid token");
         }
+        Date exp = claims.getExpiration();
+        return new AuthUser(id, claims.getSubject(), teamId, version != null ? version : 0,
+                claims.getId(), exp != null ? exp.toInstant() : null);
     }
 
-    public Long getUserId(String token) {
-        return extractClaims(token).get("id", Long.class);
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        // Exposes cache.gets{result=hit|miss}, cache.evictions and cache.size tagged cache=jwt.verified-tokens
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verified-tokens");
+        verificationTimer = Timer.builder("jwt.verification")
+                .description("JWT signature verification and parsing on a cache miss")
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
-    public String getEmail(String token) {
-        return extractClaims(token).getSubject();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
 
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        private final long ttlNanos;
+
+        TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return ttlNanos;
+            }
+            long untilExp = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExp));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.chedyProjects.TodoTeam.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked access tokens, checked by JwtFilter on every request with two hash lookups and no database access.
+// Entries only need to live as long as the access tokens they cover (jwt.expiration), so both maps stay small.
+// Node-local: another node keeps honouring a revoked token until it expires, unless jwt.version-check is on.
+@Component
+public class TokenRevocationList implements MeterBinder {
+    // jti -> the token's own expiry (epoch millis)
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    // user id -> lowest token version still accepted (logout-all, token reuse)
+    private final Map<Long, MinimumVersion> minimumVersions = new ConcurrentHashMap<>();
+    private final long accessTokenTtlMillis;
+
+    public TokenRevocationList(@Value("${jwt.expiration}") long accessTokenTtlMillis) {
+        this.accessTokenTtlMillis = accessTokenTtlMillis;
+    }
+
+    public boolean isRevoked(AuthUser user) {
+        if (user.getTokenId() != null && revokedTokenIds.containsKey(user.getTokenId())) {
+            return true;
+        }
+        MinimumVersion minimum = minimumVersions.get(user.getId());
+        return minimum != null && user.getTokenVersion() < minimum.version();
+    }
+
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        if (tokenId != null && expiresAt != null && expiresAt.isAfter(Instant.now())) {
+            revokedTokenIds.put(tokenId, expiresAt.toEpochMilli());
+        }
+    }
+
+    // Every token of the user carrying an older version, i.e. issued before the version was bumped
+    public void revokeVersionsBelow(Long userId, int version) {
+        long now = System.currentTimeMillis();
+        minimumVersions.merge(userId, new MinimumVersion(version, now),
+                (old, next) -> next.version() >= old.version() ? next : old);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:PT1M}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+        // Once a full access-token lifetime has passed, no token with an older version can still be valid
+        minimumVersions.values().removeIf(minimum -> minimum.since() + accessTokenTtlMillis <= now);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("jwt.revocations", revokedTokenIds, Map::size)
+                .description("Individually revoked access tokens not yet expired")
+                .tag("type", "token")
+                .register(registry);
+        Gauge.builder("jwt.revocations", minimumVersions, Map::size)
+                .description("Users whose older access tokens are revoked")
+                .tag("type", "user")
+                .register(registry);
+    }
+
+    private record MinimumVersion(int version, long since) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.chedyProjects.TodoTeam.security;
+
+import com.chedyProjects.TodoTeam.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TokenVersionChecker {
+    private final UserService userService;
+
+    // Off by default: tokens are trusted until they expire. When on, every request checks users.token_version
+    // through the user cache, so bumping it (logout-all, password change) cuts off outstanding tokens
+    // within users.cache.ttl on other nodes and immediately on the node that bumped it.
+    @Value("${jwt.version-check.enabled:false}")
+    private boolean enabled;
+
+    public boolean isCurrent(AuthUser user) {
+        if (!enabled) {
+            return true;
+        }
+        return userService.findById(user.getId())
+                .map(cached -> cached.tokenVersion() == user.getTokenVersion())
+                .orElse(false);
+    }
+}
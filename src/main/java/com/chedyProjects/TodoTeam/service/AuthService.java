@@ -1,49 +1,104 @@
 package com.chedyProjects.TodoTeam.service;
 
+import com.chedyProjects.TodoTeam.cache.CachedUser;
 import com.chedyProjects.TodoTeam.dto.AuthDto;
+import com.chedyProjects.TodoTeam.entity.Team;
 import com.chedyProjects.TodoTeam.entity.User;
 import com.chedyProjects.TodoTeam.repository.UserRepository;
-import com.chedyProjects.TodoTeam.security.JwtUtil;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 @Service
-@RequiredArgsConstructor
+@Timed(value = "auth.service", histogram = true)
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
+    private final UserService userService;
+    private final TaskCounterService taskCounterService;
+    private final TeamService teamService;
+    private final TransactionTemplate registerTransaction;
 
-    @Transactional
-    public AuthDto register(String email, String password, String username) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, RefreshTokenService refreshTokenService,
+                       AuthenticationManager authenticationManager, UserService userService,
+                       TaskCounterService taskCounterService, TeamService teamService,
+                       PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
+        this.authenticationManager = authenticationManager;
+        this.userService = userService;
+        this.taskCounterService = taskCounterService;
+        this.teamService = teamService;
+        this.registerTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Not @Transactional as a whole: the hash takes tens of milliseconds and must not hold a pooled connection.
+    // With an invite code the user joins that team; without one they start a team of their own.
+    public AuthDto register(String email, String password, String username, String inviteCode) {
         if (userRepository.existsByEmail(email)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
         }
-        User user = User.builder()
-                .email(email)
-                .password(passwordEncoder.encode(password))
-                .username(username)
-                .build();
-        userRepository.save(user);
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
-        return new AuthDto(user.getId(), token);
+        Team invitedTo = inviteCode != null && !inviteCode.isBlank() ? teamService.requireByInviteCode(inviteCode) : null;
+        String passwordHash = passwordEncoder.encode(password);
+        User user;
+        try {
+            // A new team, the user and their counter row commit together, so losing the email race leaves no orphan team
+            user = registerTransaction.execute(status -> {
+                Team team = invitedTo != null ? invitedTo : teamService.createTeam(username);
+                User created = userRepository.saveAndFlush(User.builder()
+                        .email(email)
+                        .password(passwordHash)
+                        .username(username)
+                        .teamId(team.getId())
+                        .build());
+                taskCounterService.createScope(created.getId());
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same email
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
+        }
+        userService.evict(user.getId(), user.getEmail());
+        return refreshTokenService.issue(user.getId(), user.getEmail(), user.getTokenVersion(), user.getTeamId());
     }
 
     public AuthDto login(String email, String password) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
-        User user = userRepository.findByEmail(email)
+        // Served from the cache entry the authentication step just populated
+        CachedUser user = userService.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
-        return new AuthDto(user.getId(), token);
+        return refreshTokenService.issue(user.id(), user.email(), user.tokenVersion(), user.teamId());
     }
-}
 
+    public AuthDto refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    public void logout(String refreshToken, AuthUser principal) {
+        refreshTokenService.logout(refreshToken, principal);
+    }
+
+    @Transactional
+    public void logoutAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        userService.evict(userId, null);
+        int tokenVersion = userRepository.findTokenVersion(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        // Revokes the refresh tokens and, on this node, every access token issued before the bump
+        refreshTokenService.revokeAll(userId, tokenVersion);
+    }
+}
@@ -0,0 +1,41 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.entity.JobLock;
+import com.chedyProjects.TodoTeam.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Keeps a scheduled job to one node at a time. Each call runs in its own short transaction, so the lease is
+// visible to other nodes before the job starts; the lease should outlast the job, otherwise another node may start it too.
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+    private final JobLockRepository jobLockRepository;
+    private final String owner = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        if (jobLockRepository.claim(name, owner, now, now.plus(lease)) == 1) {
+            return true;
+        }
+        // Only spares the failing insert on every run; the insert itself is what decides a race
+        if (jobLockRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            jobLockRepository.saveAndFlush(new JobLock(name, owner, now.plus(lease)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jobLockRepository.release(name, owner, Instant.now());
+    }
+}
@@ -0,0 +1,134 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.cache.CachedUser;
+import com.chedyProjects.TodoTeam.dto.AuthDto;
+import com.chedyProjects.TodoTeam.entity.RefreshToken;
+import com.chedyProjects.TodoTeam.repository.RefreshTokenRepository;
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import com.chedyProjects.TodoTeam.security.IssuedToken;
+import com.chedyProjects.TodoTeam.security.JwtUtil;
+import com.chedyProjects.TodoTeam.security.TokenRevocationList;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Timed(value = "auth.refresh.service", histogram = true)
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+
+    @Value("${jwt.refresh.ttl:30d}")
+    private Duration refreshTokenTtl;
+
+    // Login or registration: a new access token and the first refresh token of a new family
+    @Transactional
+    public AuthDto issue(Long userId, String email, int tokenVersion, Long teamId) {
+        return issue(userId, email, tokenVersion, teamId, UUID.randomUUID().toString());
+    }
+
+    // Rotation: the presented token is spent and replaced. Presenting a spent token again means it was copied,
+    // so the whole family and the access tokens it handed out are revoked; the 401 must not roll that back.
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthDto refresh(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(RefreshTokenService::invalid);
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            log.warn("Refresh token reuse for user {}, revoking family {}", token.getUserId(), token.getFamilyId());
+            revokeFamily(token.getFamilyId(), now);
+            throw invalid();
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw invalid();
+        }
+        // Current email, token version and team, so a refresh after logout-all never resurrects old tokens
+        CachedUser user = userService.findById(token.getUserId()).orElseThrow(RefreshTokenService::invalid);
+        return issue(user.id(), user.email(), user.tokenVersion(), user.teamId(), token.getFamilyId());
+    }
+
+    // Ends one session: the refresh token's family and the access token making the call
+    @Transactional
+    public void logout(String rawToken, AuthUser principal) {
+        if (rawToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawToken))
+                    .filter(token -> token.getUserId().equals(principal.getId()))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId(), Instant.now()));
+        }
+        revocationList.revokeToken(principal.getTokenId(), principal.getExpiresAt());
+    }
+
+    // Ends every session of the user; tokenVersion is the version after the bump
+    @Transactional
+    public void revokeAll(Long userId, int tokenVersion) {
+        refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+        revocationList.revokeVersionsBelow(userId, tokenVersion);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.prune-interval:PT1H}")
+    @Transactional
+    public void pruneExpired() {
+        refreshTokenRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    private AuthDto issue(Long userId, String email, int tokenVersion, Long teamId, String familyId) {
+        IssuedToken access = jwtUtil.issue(userId, email, tokenVersion, teamId);
+        String rawToken = newRawToken();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(userId)
+                .familyId(familyId)
+                .accessTokenId(access.id())
+                .accessExpiresAt(access.expiresAt())
+                .expiresAt(Instant.now().plus(refreshTokenTtl))
+                .build());
+        return new AuthDto(userId, access.value(), rawToken, jwtUtil.getExpiration() / 1000);
+    }
+
+    private void revokeFamily(String familyId, Instant now) {
+        refreshTokenRepository.revokeFamily(familyId, now);
+        refreshTokenRepository.findLiveAccessTokens(familyId, now)
+                .forEach(token -> revocationList.revokeToken(token.getAccessTokenId(), token.getAccessExpiresAt()));
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+    }
+
+    // 256 random bits; only the SHA-256 is stored, so a database leak yields no usable tokens
+    private static String newRawToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
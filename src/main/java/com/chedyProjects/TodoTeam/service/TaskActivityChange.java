@@ -0,0 +1,7 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.entity.TaskActivity;
+
+// One changed field as stored in an outbox entry's JSON; values are strings, null for "none"
+public record TaskActivityChange(TaskActivity.Field field, String from, String to) {
+}
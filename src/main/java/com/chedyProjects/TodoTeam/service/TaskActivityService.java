@@ -0,0 +1,94 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.dto.TaskActivityDto;
+import com.chedyProjects.TodoTeam.dto.TaskActivityPageDto;
+import com.chedyProjects.TodoTeam.entity.TaskActivity;
+import com.chedyProjects.TodoTeam.entity.TaskActivityOutbox;
+import com.chedyProjects.TodoTeam.repository.TaskActivityOutboxRepository;
+import com.chedyProjects.TodoTeam.repository.TaskActivityRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Audit trail of task mutations. The request only adds an outbox entry to its own transaction; TaskActivityWriter
+// turns entries into task_activity rows in the background, so an entry shows up in GET /tasks/{id}/activity
+// within about tasks.activity.flush-interval of the change.
+@Service
+@RequiredArgsConstructor
+public class TaskActivityService {
+    private final TaskActivityOutboxRepository outboxRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    // Must run inside the mutating transaction; the insert is batched with the task's own update at flush
+    public void recordChanged(Long taskId, Long actorId, TaskCounterState before, TaskCounterState after) {
+        List<TaskActivityChange> changes = new ArrayList<>(4);
+        addIfChanged(changes, TaskActivity.Field.ASSIGNEE, before.assignedId(), after.assignedId());
+        addIfChanged(changes, TaskActivity.Field.COMPLETED, before.completed(), after.completed());
+        addIfChanged(changes, TaskActivity.Field.PRIORITY, before.priority(), after.priority());
+        addIfChanged(changes, TaskActivity.Field.DUE_DATE, before.dueDate(), after.dueDate());
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            outboxRepository.save(TaskActivityOutbox.builder()
+                    .taskId(taskId)
+                    .actorId(actorId)
+                    .changes(objectMapper.writeValueAsString(changes))
+                    .occurredAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task activity", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskActivityPageDto getActivity(Long taskId, Long userId, Long teamId, String cursor, Integer size) {
+        taskRepository.findAccessibleTaskVersion(taskId, userId, teamId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
+        TaskActivityCursor after = TaskActivityCursor.decode(cursor);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<TaskActivity> rows = after == null
+                ? activityRepository.findByTask(taskId, Limit.of(pageSize + 1))
+                : activityRepository.findByTaskBefore(taskId, after.occurredAt(), after.id(), Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            TaskActivity last = rows.get(rows.size() - 1);
+            nextCursor = new TaskActivityCursor(last.getOccurredAt(), last.getId()).encode();
+        }
+        return new TaskActivityPageDto(rows.stream().map(TaskActivityService::toDto).toList(), nextCursor);
+    }
+
+    private static void addIfChanged(List<TaskActivityChange> changes, TaskActivity.Field field, Object from, Object to) {
+        if (!Objects.equals(from, to)) {
+            changes.add(new TaskActivityChange(field, from != null ? from.toString() : null, to != null ? to.toString() : null));
+        }
+    }
+
+    private static TaskActivityDto toDto(TaskActivity activity) {
+        return new TaskActivityDto(activity.getId(), activity.getActorId(), activity.getField().name(),
+                activity.getOldValue(), activity.getNewValue(), activity.getOccurredAt().toEpochMilli());
+    }
+}
@@ -0,0 +1,131 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.entity.TaskActivity;
+import com.chedyProjects.TodoTeam.entity.TaskActivityOutbox;
+import com.chedyProjects.TodoTeam.repository.TaskActivityOutboxRepository;
+import com.chedyProjects.TodoTeam.repository.TaskActivityPartitions;
+import com.chedyProjects.TodoTeam.repository.TaskActivityRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Moves task_activity_outbox entries into task_activity: each batch locks the oldest entries (skipping ones another
+// node holds), inserts their rows as one JDBC batch and deletes them, in one transaction. An entry that cannot be
+// written, e.g. for a month without a partition yet, stays in the outbox and is retried on the next run.
+// Also keeps task_activity's monthly partitions: creates them ahead of time and drops those past the retention.
+@Slf4j
+@Service
+public class TaskActivityWriter {
+    private static final String PARTITION_JOB = "task-activity-partitions";
+    private static final TypeReference<List<TaskActivityChange>> CHANGES = new TypeReference<>() {
+    };
+
+    private final TaskActivityOutboxRepository outboxRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskActivityPartitions partitions;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate writeTransaction;
+    private final ObjectMapper objectMapper;
+    private final Counter written;
+
+    @Value("${tasks.activity.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tasks.activity.retention:365d}")
+    private Duration retention;
+
+    @Value("${tasks.activity.months-ahead:2}")
+    private int monthsAhead;
+
+    private record Batch(int entries, int rows) {
+    }
+
+    public TaskActivityWriter(TaskActivityOutboxRepository outboxRepository, TaskActivityRepository activityRepository,
+                              TaskActivityPartitions partitions, JobLockService jobLockService,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.activityRepository = activityRepository;
+        this.partitions = partitions;
+        this.jobLockService = jobLockService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.written = Counter.builder("tasks.activity.written")
+                .description("task_activity rows written from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.activity.flush-interval:PT1S}")
+    public void flush() {
+        try {
+            Batch batch;
+            do {
+                batch = writeTransaction.execute(status -> writeBatch());
+                written.increment(batch.rows());
+            } while (batch.entries() == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Could not write task activity; the entries stay in the outbox", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.activity.partition-interval:PT6H}", initialDelay = 0)
+    public void maintainPartitions() {
+        if (!jobLockService.tryAcquire(PARTITION_JOB, Duration.ofMinutes(10))) {
+            return;
+        }
+        try {
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            List<String> created = partitions.createThrough(current, current.plusMonths(monthsAhead));
+            // A month is dropped only once all of it is older than the retention
+            List<String> dropped = partitions.dropBefore(YearMonth.from(Instant.now().minus(retention).atZone(ZoneOffset.UTC)));
+            if (!created.isEmpty() || !dropped.isEmpty()) {
+                log.info("Task activity partitions created {}, dropped {}", created, dropped);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not maintain task activity partitions", e);
+        } finally {
+            jobLockService.release(PARTITION_JOB);
+        }
+    }
+
+    private Batch writeBatch() {
+        List<TaskActivityOutbox> entries = outboxRepository.lockOldest(Limit.of(batchSize));
+        List<TaskActivity> rows = new ArrayList<>();
+        for (TaskActivityOutbox entry : entries) {
+            try {
+                for (TaskActivityChange change : objectMapper.readValue(entry.getChanges(), CHANGES)) {
+                    rows.add(TaskActivity.builder()
+                            .taskId(entry.getTaskId())
+                            .actorId(entry.getActorId())
+                            .field(change.field())
+                            .oldValue(change.from())
+                            .newValue(change.to())
+                            .occurredAt(entry.getOccurredAt())
+                            .build());
+                }
+            } catch (JsonProcessingException e) {
+                // Retrying cannot fix it; dropping it keeps it from blocking the entries behind it
+                log.warn("Dropping unreadable task activity outbox entry {}", entry.getId(), e);
+            }
+        }
+        activityRepository.saveAll(rows);
+        outboxRepository.deleteAllInBatch(entries);
+        return new Batch(entries.size(), rows.size());
+    }
+}
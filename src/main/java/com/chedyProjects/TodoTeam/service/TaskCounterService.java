@@ -0,0 +1,301 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.dto.TaskSummaryDto;
+import com.chedyProjects.TodoTeam.entity.TaskCounter;
+import com.chedyProjects.TodoTeam.repository.ScopeCounts;
+import com.chedyProjects.TodoTeam.repository.TaskCounterRepository;
+import com.chedyProjects.TodoTeam.repository.TaskCounts;
+import com.chedyProjects.TodoTeam.repository.TeamRepository;
+import com.chedyProjects.TodoTeam.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Per-scope task counters behind GET /tasks/summary. Writes record deltas that are buffered per transaction and
+// applied just before commit, in scope order: the counter row locks are taken last and held only for the commit,
+// and two transactions can never wait on each other's counter rows. A periodic job corrects any drift.
+@Slf4j
+@Service
+public class TaskCounterService {
+    private static final String RECONCILE_JOB = "task-counters-reconcile";
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate reconcileTransaction;
+    private final Counter missedDeltas;
+    private final Counter corrections;
+
+    @Value("${tasks.counters.shared-stripes:16}")
+    private int sharedStripes;
+
+    @Value("${tasks.counters.reconcile-batch-size:1000}")
+    private int reconcileBatchSize;
+
+    @Value("${tasks.counters.reconcile-lease:PT10M}")
+    private Duration reconcileLease;
+
+    public TaskCounterService(TaskCounterRepository taskCounterRepository, UserRepository userRepository,
+                              TeamRepository teamRepository, JobLockService jobLockService, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.jobLockService = jobLockService;
+        // Task counts and stored counters must come from the same snapshot to be compared
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.missedDeltas = Counter.builder("tasks.counters.missed")
+                .description("Counter deltas that found no row to update; reconciliation restores them")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("tasks.counters.corrections")
+                .description("Scopes whose counters reconciliation found out of date")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSummaryDto getSummary(Long userId, Long teamId) {
+        TaskCounts counts = taskCounterRepository.sumByScopeIds(List.of(TaskCounter.sharedScope(teamId), userId));
+        Map<String, Long> openByPriority = new LinkedHashMap<>();
+        openByPriority.put("LOW", counts.low());
+        openByPriority.put("NORMAL", counts.normal());
+        openByPriority.put("HIGH", counts.high());
+        return new TaskSummaryDto(counts.open() + counts.completed(), counts.open(), counts.completed(),
+                counts.overdue(), openByPriority);
+    }
+
+    public void recordCreated(TaskCounterState state) {
+        record(state, 1);
+    }
+
+    public void recordDeleted(TaskCounterState state) {
+        record(state, -1);
+    }
+
+    public void recordChanged(TaskCounterState before, TaskCounterState after) {
+        record(before, -1);
+        record(after, 1);
+    }
+
+    // The task passed its due date while open and untouched (its OVERDUE reminder fired)
+    public void recordOverdue(TaskCounterState state) {
+        if (!state.completed()) {
+            record(state, new TaskCounts(0, 0, 1, 0, 0, 0));
+        }
+    }
+
+    // Users registered outside a task transaction get their row here; a missing one is recreated by reconciliation
+    @Transactional
+    public void createScope(Long userId) {
+        taskCounterRepository.save(TaskCounter.builder().key(new TaskCounter.Key(userId, 0)).build());
+    }
+
+    // All stripes of a new team's shared scope
+    @Transactional
+    public void createTeamScope(Long teamId) {
+        long scopeId = TaskCounter.sharedScope(teamId);
+        List<TaskCounter> stripes = new ArrayList<>(sharedStripes);
+        for (int stripe = 0; stripe < sharedStripes; stripe++) {
+            stripes.add(TaskCounter.builder().key(new TaskCounter.Key(scopeId, stripe)).build());
+        }
+        taskCounterRepository.saveAll(stripes);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.counters.reconcile-interval:PT15M}",
+               initialDelayString = "${tasks.counters.reconcile-initial-delay:PT1M}")
+    public void reconcile() {
+        if (!jobLockService.tryAcquire(RECONCILE_JOB, reconcileLease)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            int corrected = 0;
+            Long after = 0L;
+            List<Long> teamIds;
+            while (!(teamIds = teamRepository.findIdsAfter(after, Limit.of(reconcileBatchSize))).isEmpty()) {
+                List<Long> batch = teamIds;
+                corrected += reconcileBatch(() -> reconcileShared(batch, now));
+                after = batch.get(batch.size() - 1);
+            }
+            after = 0L;
+            List<Long> userIds;
+            while (!(userIds = userRepository.findIdsAfter(after, Limit.of(reconcileBatchSize))).isEmpty()) {
+                List<Long> batch = userIds;
+                corrected += reconcileBatch(() -> reconcileUsers(batch, now));
+                after = batch.get(batch.size() - 1);
+            }
+            if (corrected > 0) {
+                log.info("Task counter reconciliation corrected {} scopes", corrected);
+            }
+        } finally {
+            jobLockService.release(RECONCILE_JOB);
+        }
+    }
+
+    private void record(TaskCounterState state, int sign) {
+        TaskCounts counts = state.counts(System.currentTimeMillis());
+        record(state, sign < 0 ? counts.negate() : counts);
+    }
+
+    private void record(TaskCounterState state, TaskCounts counts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task counter deltas must be recorded inside a transaction");
+        }
+        Map<Long, TaskCounts> pending = pendingDeltas();
+        if (state.assignedId() == null) {
+            pending.merge(TaskCounter.sharedScope(state.teamId()), counts, TaskCounts::plus);
+            return;
+        }
+        pending.merge(state.ownerId(), counts, TaskCounts::plus);
+        if (!state.assignedId().equals(state.ownerId())) {
+            pending.merge(state.assignedId(), counts, TaskCounts::plus);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, TaskCounts> pendingDeltas() {
+        Map<Long, TaskCounts> pending = (Map<Long, TaskCounts>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            // Sorted, so every transaction locks counter rows in the same order
+            Map<Long, TaskCounts> deltas = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    applyDeltas(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskCounterService.this);
+                }
+            });
+            pending = deltas;
+        }
+        return pending;
+    }
+
+    private void applyDeltas(Map<Long, TaskCounts> deltas) {
+        deltas.forEach((scopeId, delta) -> {
+            if (delta.isZero()) {
+                return;
+            }
+            // Spreads writers to a shared scope over its stripes; stripe 0 always exists
+            int stripe = TaskCounter.isSharedScope(scopeId) ? ThreadLocalRandom.current().nextInt(sharedStripes) : 0;
+            if (taskCounterRepository.add(scopeId, stripe, delta) == 0
+                    && (stripe == 0 || taskCounterRepository.add(scopeId, 0, delta) == 0)) {
+                missedDeltas.increment();
+                log.warn("No task counter row for scope {}; reconciliation will restore it", scopeId);
+            }
+        });
+    }
+
+    // A batch that collides with a concurrent counter update is simply retried on the next run
+    private int reconcileBatch(ReconcileWork work) {
+        try {
+            Integer corrected = reconcileTransaction.execute(status -> work.run());
+            return corrected != null ? corrected : 0;
+        } catch (ConcurrencyFailureException e) {
+            log.debug("Task counter reconciliation batch skipped: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    // Missing stripes are recreated empty first, so the stored sum stays comparable and correct() writes to stripe 0
+    private int reconcileShared(List<Long> teamIds, long now) {
+        List<Long> scopeIds = teamIds.stream().map(TaskCounter::sharedScope).toList();
+        Map<Long, Set<Integer>> stripes = new HashMap<>();
+        taskCounterRepository.findKeys(scopeIds)
+                .forEach(key -> stripes.computeIfAbsent(key.getScopeId(), id -> new HashSet<>()).add(key.getStripe()));
+        Map<Long, TaskCounts> actual = new HashMap<>();
+        taskCounterRepository.countUnassignedByTeam(teamIds, now)
+                .forEach(team -> actual.put(TaskCounter.sharedScope(team.scopeId()), team.counts()));
+        Map<Long, TaskCounts> stored = new HashMap<>();
+        taskCounterRepository.sumEachScope(scopeIds).forEach(scope -> stored.put(scope.scopeId(), scope.counts()));
+
+        int corrected = 0;
+        for (Long scopeId : scopeIds) {
+            Set<Integer> existing = stripes.getOrDefault(scopeId, Set.of());
+            for (int stripe = 0; stripe < sharedStripes; stripe++) {
+                if (!existing.contains(stripe)) {
+                    taskCounterRepository.save(TaskCounter.builder().key(new TaskCounter.Key(scopeId, stripe)).build());
+                }
+            }
+            corrected += correct(scopeId, actual.getOrDefault(scopeId, TaskCounts.ZERO),
+                    stored.getOrDefault(scopeId, TaskCounts.ZERO), true);
+        }
+        return corrected;
+    }
+
+    private int reconcileUsers(List<Long> userIds, long now) {
+        Long from = userIds.get(0);
+        Long to = userIds.get(userIds.size() - 1);
+        Map<Long, TaskCounts> actual = new HashMap<>();
+        taskCounterRepository.countAssignedByOwner(from, to, now)
+                .forEach(scope -> actual.merge(scope.scopeId(), scope.counts(), TaskCounts::plus));
+        taskCounterRepository.countAssignedToOthers(from, to, now)
+                .forEach(scope -> actual.merge(scope.scopeId(), scope.counts(), TaskCounts::plus));
+        Map<Long, TaskCounts> stored = new HashMap<>();
+        taskCounterRepository.sumByScopeRange(from, to).forEach(scope -> stored.put(scope.scopeId(), scope.counts()));
+
+        int corrected = 0;
+        for (Long userId : userIds) {
+            corrected += correct(userId, actual.getOrDefault(userId, TaskCounts.ZERO), stored.get(userId), stored.containsKey(userId));
+        }
+        return corrected;
+    }
+
+    private int correct(Long scopeId, TaskCounts actual, TaskCounts stored, boolean rowExists) {
+        TaskCounts drift = rowExists ? actual.minus(stored) : actual;
+        if (!rowExists) {
+            taskCounterRepository.save(toCounter(scopeId, actual));
+        } else if (!drift.isZero()) {
+            taskCounterRepository.add(scopeId, 0, drift);
+        }
+        if (drift.isZero()) {
+            return 0;
+        }
+        log.debug("Task counters of scope {} drifted by {}", scopeId, drift);
+        corrections.increment();
+        return 1;
+    }
+
+    private static TaskCounter toCounter(Long scopeId, TaskCounts counts) {
+        return TaskCounter.builder()
+                .key(new TaskCounter.Key(scopeId, 0))
+                .openCount(counts.open())
+                .completedCount(counts.completed())
+                .overdueCount(counts.overdue())
+                .lowCount(counts.low())
+                .normalCount(counts.normal())
+                .highCount(counts.high())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ReconcileWork {
+        int run();
+    }
+}
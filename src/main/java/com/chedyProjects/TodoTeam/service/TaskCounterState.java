@@ -0,0 +1,36 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.entity.Task;
+import com.chedyProjects.TodoTeam.repository.TaskCounts;
+
+// The fields of a task that the summary counters depend on
+public record TaskCounterState(Long teamId, Long ownerId, Long assignedId, boolean completed, Task.Priority priority, Long dueDate) {
+
+    public static TaskCounterState of(Task task) {
+        return new TaskCounterState(task.getTeamId(), task.getOwner() != null ? task.getOwner().getId() : null,
+                task.getAssigned() != null ? task.getAssigned().getId() : null,
+                task.isCompleted(), task.getPriority(), task.getDueDate());
+    }
+
+    public static TaskCounterState of(TaskDto task) {
+        return new TaskCounterState(task.getTeamId(), task.getOwnerId(), task.getAssignedId(), task.isCompleted(),
+                Task.Priority.valueOf(task.getPriority()), task.getDueDate());
+    }
+
+    public TaskCounterState withAssignedId(Long assignedId) {
+        return new TaskCounterState(teamId, ownerId, assignedId, completed, priority, dueDate);
+    }
+
+    // Overdue is judged at write time; tasks that pass their due date untouched are counted when their OVERDUE
+    // reminder fires, and by reconciliation otherwise
+    public TaskCounts counts(long now) {
+        if (completed) {
+            return new TaskCounts(0, 1, 0, 0, 0, 0);
+        }
+        return new TaskCounts(1, 0, dueDate != null && dueDate < now ? 1 : 0,
+                priority == Task.Priority.LOW ? 1 : 0,
+                priority == Task.Priority.NORMAL ? 1 : 0,
+                priority == Task.Priority.HIGH ? 1 : 0);
+    }
+}
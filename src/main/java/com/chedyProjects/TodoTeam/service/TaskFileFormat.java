@@ -0,0 +1,37 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+// File formats accepted by /tasks/import and produced by /tasks/export
+@Getter
+@RequiredArgsConstructor
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static TaskFileFormat parse(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid format");
+        }
+    }
+
+    // One JSON value per line: no root separator (Jackson's default is a space), and the servlet stream stays open on close
+    public static JsonGenerator ndjsonGenerator(ObjectWriter writer, OutputStream out) throws IOException {
+        JsonGenerator generator = writer.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+}
@@ -0,0 +1,174 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.dto.TaskImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Pulls one record at a time from an import body, so the whole file is never in memory.
+// A record that cannot be parsed comes back with an error instead of aborting the import.
+abstract class TaskImportReader {
+    record Record(long line, TaskImportRow row, String error) {
+    }
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    protected TaskImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    // Null at end of input
+    abstract Record next() throws IOException;
+
+    static TaskImportReader of(TaskFileFormat format, BufferedReader reader, ObjectReader rowReader) {
+        return format == TaskFileFormat.CSV ? new Csv(reader) : new Ndjson(reader, rowReader);
+    }
+
+    private static class Ndjson extends TaskImportReader {
+        private final ObjectReader rowReader;
+
+        Ndjson(BufferedReader reader, ObjectReader rowReader) {
+            super(reader);
+            this.rowReader = rowReader;
+        }
+
+        @Override
+        Record next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            try {
+                return new Record(line, rowReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new Record(line, null, "Malformed JSON");
+            }
+        }
+    }
+
+    // RFC 4180 records with a header row naming the columns; quoted fields may span lines
+    private static class Csv extends TaskImportReader {
+        private Map<String, Integer> columns;
+
+        Csv(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Record next() throws IOException {
+            if (columns == null) {
+                List<String> header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            List<String> fields;
+            long start;
+            do {
+                start = line + 1;
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+            try {
+                TaskImportRow row = new TaskImportRow();
+                row.setTitle(field(fields, "title"));
+                row.setDescription(field(fields, "description"));
+                row.setPriority(field(fields, "priority"));
+                row.setDueDate(toLong(field(fields, "duedate", "due_date")));
+                row.setAssigneeId(toLong(field(fields, "assigneeid", "assignee_id", "assignedid", "assigned_id")));
+                String completed = field(fields, "completed", "is_completed");
+                if (completed != null && !completed.trim().equalsIgnoreCase("true") && !completed.trim().equalsIgnoreCase("false")) {
+                    // Boolean.valueOf would quietly import anything else as false
+                    return new Record(start, null, "Invalid completed");
+                }
+                row.setCompleted(completed != null ? Boolean.valueOf(completed.trim()) : null);
+                return new Record(start, row, null);
+            } catch (NumberFormatException e) {
+                return new Record(start, null, "Invalid number");
+            }
+        }
+
+        // Empty values read as absent
+        private String field(List<String> fields, String... names) {
+            for (String name : names) {
+                Integer index = columns.get(name);
+                if (index != null && index < fields.size() && !fields.get(index).isEmpty()) {
+                    return fields.get(index);
+                }
+            }
+            return null;
+        }
+
+        private static Long toLong(String value) {
+            return value != null ? Long.valueOf(value.trim()) : null;
+        }
+
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // Newline inside a quoted field: the record continues on the next line
+                    String more = reader.readLine();
+                    if (more == null) {
+                        break;
+                    }
+                    line++;
+                    field.append('\n');
+                    text = more;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
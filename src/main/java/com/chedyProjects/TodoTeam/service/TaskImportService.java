@@ -0,0 +1,191 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.cache.CachedUser;
+import com.chedyProjects.TodoTeam.dto.TaskImportEventDto;
+import com.chedyProjects.TodoTeam.dto.TaskImportRow;
+import com.chedyProjects.TodoTeam.entity.Task;
+import com.chedyProjects.TodoTeam.repository.TaskImportWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Streams an import body through parse -> batch validate -> COPY, reporting as it goes.
+// Imported tasks raise no per-row SSE events; clients pick them up through /tasks/changes or a reload.
+@Slf4j
+@Service
+public class TaskImportService {
+    private final TaskImportWriter taskImportWriter;
+    private final UserService userService;
+    private final TaskCounterService taskCounterService;
+    private final TransactionTemplate batchTransaction;
+    private final MeterRegistry meterRegistry;
+    private final ObjectReader rowReader;
+    private final ObjectWriter eventWriter;
+
+    @Value("${tasks.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TaskImportService(TaskImportWriter taskImportWriter, UserService userService, TaskCounterService taskCounterService,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.taskImportWriter = taskImportWriter;
+        this.userService = userService;
+        this.taskCounterService = taskCounterService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.rowReader = objectMapper.readerFor(TaskImportRow.class);
+        this.eventWriter = objectMapper.writerFor(TaskImportEventDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Batches commit independently: rows already reported as imported stay imported if a later batch fails
+    public void importTasks(Long ownerId, Long teamId, TaskFileFormat format, InputStream in, OutputStream out) {
+        Progress progress = new Progress();
+        String outcome = "completed";
+        try (JsonGenerator generator = TaskFileFormat.ndjsonGenerator(eventWriter, out)) {
+            progress.generator = generator;
+            TaskImportReader reader = TaskImportReader.of(format,
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), rowReader);
+            List<TaskImportReader.Record> batch = new ArrayList<>(batchSize);
+            TaskImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                progress.processed++;
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    writeBatch(ownerId, teamId, batch, progress);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(ownerId, teamId, batch, progress);
+            }
+            progress.emit(TaskImportEventDto.counts("summary", progress.processed, progress.imported, progress.failed));
+        } catch (IOException e) {
+            // Either side of the connection went away; committed batches stay, the rest is dropped
+            outcome = "aborted";
+            log.debug("Task import for user {} aborted after {} rows: {}", ownerId, progress.processed, e.getMessage());
+        } finally {
+            meterRegistry.counter("tasks.import", "format", format.getExtension(), "outcome", outcome).increment();
+            meterRegistry.counter("tasks.import.rows", "result", "imported").increment(progress.imported);
+            meterRegistry.counter("tasks.import.rows", "result", "failed").increment(progress.failed);
+        }
+    }
+
+    private void writeBatch(Long ownerId, Long teamId, List<TaskImportReader.Record> batch, Progress progress) throws IOException {
+        // One lookup for every assignee in the batch; cached users cost nothing
+        Set<Long> assigneeIds = new HashSet<>();
+        for (TaskImportReader.Record record : batch) {
+            if (record.row() != null && record.row().getAssigneeId() != null) {
+                assigneeIds.add(record.row().getAssigneeId());
+            }
+        }
+        Map<Long, CachedUser> assignees = userService.findAllById(assigneeIds);
+
+        List<TaskImportWriter.Row> rows = new ArrayList<>(batch.size());
+        List<Long> lines = new ArrayList<>(batch.size());
+        for (TaskImportReader.Record record : batch) {
+            // Parse errors travel with the batch so errors are reported in line order
+            TaskImportRow row = record.row();
+            String error = record.error() != null ? record.error() : validate(row, teamId, assignees);
+            if (error != null) {
+                progress.fail(record.line(), error);
+                continue;
+            }
+            rows.add(new TaskImportWriter.Row(row.getTitle(), row.getDescription(),
+                    Task.Priority.valueOf(row.getPriority().trim().toUpperCase(Locale.ROOT)),
+                    Boolean.TRUE.equals(row.getCompleted()), row.getDueDate(), row.getAssigneeId()));
+            lines.add(record.line());
+        }
+        if (!rows.isEmpty()) {
+            try {
+                // The summary counters move in the same transaction as the rows
+                batchTransaction.executeWithoutResult(status -> {
+                    taskImportWriter.insert(ownerId, teamId, rows);
+                    rows.forEach(row -> taskCounterService.recordCreated(new TaskCounterState(teamId, ownerId, row.assigneeId(),
+                            row.completed(), row.priority(), row.dueDate())));
+                });
+                progress.imported += rows.size();
+            } catch (DataAccessException e) {
+                // E.g. an assignee deleted since the lookup; the batch rolled back as a whole
+                log.warn("Task import batch of {} rows failed for user {}", rows.size(), ownerId, e);
+                for (Long line : lines) {
+                    progress.fail(line, "Batch rejected by the database");
+                }
+            }
+        }
+        progress.emit(TaskImportEventDto.counts("progress", progress.processed, progress.imported, progress.failed));
+        progress.generator.flush();
+    }
+
+    // Same rules as POST /tasks; priority is case-insensitive for files coming from other tools
+    private static String validate(TaskImportRow row, Long teamId, Map<Long, CachedUser> assignees) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (row.getTitle().length() > 255) {
+            return "title is longer than 255 characters";
+        }
+        if (row.getDescription() != null && row.getDescription().length() > 255) {
+            return "description is longer than 255 characters";
+        }
+        if (row.getDueDate() == null) {
+            return "dueDate is required";
+        }
+        if (row.getPriority() == null) {
+            return "Invalid priority";
+        }
+        try {
+            Task.Priority.valueOf(row.getPriority().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return "Invalid priority";
+        }
+        if (row.getAssigneeId() != null) {
+            CachedUser assignee = assignees.get(row.getAssigneeId());
+            if (assignee == null || !teamId.equals(assignee.teamId())) {
+                return "Assignee not found";
+            }
+        }
+        return null;
+    }
+
+    private class Progress {
+        JsonGenerator generator;
+        long processed;
+        long imported;
+        long failed;
+
+        // Every failure is counted; only the first maxReportedErrors are listed individually
+        void fail(long line, String error) throws IOException {
+            if (failed++ < maxReportedErrors) {
+                emit(TaskImportEventDto.error(line, error));
+            }
+        }
+
+        void emit(TaskImportEventDto event) throws IOException {
+            eventWriter.writeValue(generator, event);
+            generator.writeRaw('\n');
+        }
+    }
+}
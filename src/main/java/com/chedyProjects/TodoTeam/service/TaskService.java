@@ -1,89 +1,359 @@
 package com.chedyProjects.TodoTeam.service;
 
+import com.chedyProjects.TodoTeam.cache.CachedUser;
+import com.chedyProjects.TodoTeam.dto.BulkTaskOperation;
+import com.chedyProjects.TodoTeam.dto.BulkTaskResultDto;
 import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.dto.TaskFilter;
+import com.chedyProjects.TodoTeam.dto.TaskPageDto;
 import com.chedyProjects.TodoTeam.entity.Task;
 import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.event.TaskChangedEvent;
 import com.chedyProjects.TodoTeam.repository.TaskRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRow;
+import com.chedyProjects.TodoTeam.repository.TaskSearchHit;
 import com.chedyProjects.TodoTeam.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
+@Timed(value = "tasks.service", histogram = true)
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final TaskSyncService taskSyncService;
+    private final TaskCounterService taskCounterService;
+    private final TaskActivityService taskActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    public List<TaskDto> getAccessibleTasks(User user) {
-        System.out.println("Getting accessible tasks for user: " + user.getId() + " (" + user.getEmail() + ")");
-        List<Task> tasks = taskRepository.findAccessibleTasks(user.getId());
-        System.out.println("Found " + tasks.size() + " accessible tasks");
-        for (Task task : tasks) {
-            System.out.println("  Task ID: " + task.getId() + 
-                             ", Title: " + task.getTitle() + 
-                             ", Owner: " + (task.getOwner() != null ? task.getOwner().getId() : "null") + 
-                             ", Assigned: " + (task.getAssigned() != null ? task.getAssigned().getId() : "null"));
-        }
-        return tasks.stream()
-                .map(this::toDto)
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${tasks.search.max-length:200}")
+    private int maxSearchLength;
+
+    @Value("${tasks.search.max-terms:8}")
+    private int maxSearchTerms;
+
+    @Transactional(readOnly = true)
+    public TaskPageDto getAccessibleTasks(Long userId, Long teamId, TaskFilter filter, String cursor, Integer size) {
+        if (filter.getPriority() != null) {
+            parsePriority(filter.getPriority());
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        TaskCursor after = TaskCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<TaskRow> tasks = taskRepository.findAccessibleTasksPage(userId, teamId, filter,
+                after != null ? after.lastUpdate() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        boolean hasMore = tasks.size() > pageSize;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageSize);
+        }
+        meterRegistry.summary("tasks.listing.rows", "query", "page").record(tasks.size());
+        log.debug("Listed {} accessible tasks for user {}", tasks.size(), userId);
+        String nextCursor = null;
+        if (hasMore) {
+            TaskRow last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(last.lastUpdate(), last.id()).encode();
+        }
+        List<TaskDto> items = tasks.stream()
+                .map(TaskRow::toDto)
+                .collect(Collectors.toList());
+        return new TaskPageDto(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDto searchAccessibleTasks(Long userId, Long teamId, String query, String cursor, Integer size) {
+        String tsQuery = toPrefixQuery(query);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        TaskSearchCursor after = TaskSearchCursor.decode(cursor);
+
+        List<TaskSearchHit> hits = taskRepository.searchAccessibleTasks(userId, teamId, tsQuery,
+                after != null ? after.rank() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        meterRegistry.summary("tasks.listing.rows", "query", "search").record(hits.size());
+        String nextCursor = null;
+        if (hasMore) {
+            TaskSearchHit last = hits.get(hits.size() - 1);
+            nextCursor = new TaskSearchCursor(last.rank(), last.task().id()).encode();
+        }
+        List<TaskDto> items = hits.stream()
+                .map(hit -> hit.task().toDto())
                 .collect(Collectors.toList());
+        return new TaskPageDto(items, nextCursor);
+    }
+
+    // Same filter validation as the page query; the stamp changes whenever a row enters, leaves or changes in the set
+    @Transactional(readOnly = true)
+    public String getAccessibleTasksETag(Long userId, Long teamId, TaskFilter filter) {
+        if (filter.getPriority() != null) {
+            parsePriority(filter.getPriority());
+        }
+        return taskRepository.findAccessibleTasksStamp(userId, teamId, filter).toETag();
+    }
+
+    @Transactional(readOnly = true)
+    public Long getAccessibleTaskVersion(Long id, Long userId, Long teamId) {
+        return taskRepository.findAccessibleTaskVersion(id, userId, teamId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
     }
 
-    public TaskDto getAccessibleTaskById(Long id, User user) {
-        Task task = taskRepository.findAccessibleTaskById(id, user.getId())
+    @Transactional(readOnly = true)
+    public TaskDto getAccessibleTaskById(Long id, Long userId, Long teamId) {
+        return taskRepository.findAccessibleTaskById(id, userId, teamId)
+                .map(TaskRow::toDto)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-        return toDto(task);
     }
 
     @Transactional
-    public TaskDto createTask(String title, String description, String priority, Long dueDate, Long assigneeId, User owner) {
-        Task.Priority prio;
-        try {
-            prio = Task.Priority.valueOf(priority);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid priority");
-        }
-        User assignee = null;
-        if (assigneeId != null) {
-            assignee = userRepository.findById(assigneeId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee not found"));
-        }
+    public TaskDto createTask(String title, String description, String priority, Long dueDate, Long assigneeId, Long ownerId, Long teamId) {
+        Task.Priority prio = parsePriority(priority);
+        User assignee = assigneeId != null ? requireAssignee(assigneeId, teamId) : null;
         Task task = Task.builder()
                 .title(title)
                 .description(description)
                 .priority(prio)
                 .isCompleted(false)
                 .dueDate(dueDate)
-                .owner(owner)
+                .owner(userRepository.getReferenceById(ownerId))
                 .assigned(assignee)
+                .teamId(teamId)
                 .build();
         taskRepository.save(task);
-        return toDto(task);
+        taskCounterService.recordCreated(TaskCounterState.of(task));
+        return publishCreated(task);
     }
 
+    // expectedVersion comes from If-Match; null means unconditional (the @Version check still catches concurrent writers)
     @Transactional
-    public TaskDto updateTask(Long id, String description, String priority, Long dueDate, Long assigneeId, Boolean completed, User user) {
-        Task task = taskRepository.findById(id)
+    public TaskDto updateTask(Long id, String description, String priority, Long dueDate, Long assigneeId, Boolean completed, Long expectedVersion, Long userId, Long teamId) {
+        if (expectedVersion == null && isClaim(description, priority, dueDate, assigneeId, completed, userId)) {
+            TaskDto claimed = claim(id, userId, teamId);
+            if (claimed != null) {
+                return claimed;
+            }
+            // Not unassigned (or missing): fall through so owners can still self-assign and everyone else gets 409/404
+        }
+        Task task = taskRepository.findByIdAndTeamId(id, teamId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-        
+        checkVersion(task, expectedVersion);
+        authorizeUpdate(task, description, priority, dueDate, assigneeId, completed, userId);
+        Task.Priority prio = priority != null ? parsePriority(priority) : null;
+        User assignee = assigneeId != null ? requireAssignee(assigneeId, teamId) : null;
+        TaskCounterState before = TaskCounterState.of(task);
+        Long previousAssignedId = applyUpdate(task, description, prio, dueDate, assignee, completed);
+        TaskCounterState after = TaskCounterState.of(task);
+        taskCounterService.recordChanged(before, after);
+        taskActivityService.recordChanged(task.getId(), userId, before, after);
+        flush();
+        return publishUpdated(task, previousAssignedId);
+    }
+
+    @Transactional
+    public void deleteTask(Long id, Long userId, Long teamId) {
+        Task task = taskRepository.findByIdAndTeamId(id, teamId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        authorizeDelete(task, userId);
+        taskRepository.delete(task);
+        taskCounterService.recordDeleted(TaskCounterState.of(task));
+        flush();
+        publishDeleted(task);
+    }
+
+    // Applies a list of operations in one transaction: one query for the referenced tasks, one for the assignees,
+    // authorization in memory, and the resulting inserts/updates/deletes flushed as JDBC batches. The referenced tasks
+    // are locked as they are read, so a concurrent change shows up per item through checkVersion rather than as a
+    // flush failure that would void the whole request.
+    @Transactional
+    public List<BulkTaskResultDto> bulk(List<BulkTaskOperation> operations, Long userId, Long teamId) {
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> assigneeIds = new HashSet<>();
+        for (BulkTaskOperation op : operations) {
+            if (op.getOp() != BulkTaskOperation.Op.CREATE && op.getId() != null) {
+                taskIds.add(op.getId());
+            }
+            if (op.getAssigneeId() != null) {
+                assigneeIds.add(op.getAssigneeId());
+            }
+        }
+        Map<Long, Task> tasks = taskRepository.lockByIdInAndTeamId(taskIds, teamId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, CachedUser> assignees = userService.findAllById(assigneeIds);
+
+        List<BulkTaskResultDto> results = new ArrayList<>(operations.size());
+        List<Task> created = new ArrayList<>();
+        List<PendingUpdate> updated = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation op = operations.get(i);
+            try {
+                Task task = switch (op.getOp()) {
+                    case CREATE -> {
+                        if (op.getTitle() == null || op.getTitle().isBlank() || op.getDueDate() == null) {
+                            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title and dueDate are required");
+                        }
+                        Task newTask = Task.builder()
+                                .title(op.getTitle())
+                                .description(op.getDescription())
+                                .priority(parsePriority(op.getPriority()))
+                                .isCompleted(false)
+                                .dueDate(op.getDueDate())
+                                .owner(userRepository.getReferenceById(userId))
+                                .assigned(resolveAssignee(op.getAssigneeId(), teamId, assignees))
+                                .teamId(teamId)
+                                .build();
+                        created.add(newTask);
+                        taskCounterService.recordCreated(TaskCounterState.of(newTask));
+                        yield newTask;
+                    }
+                    case UPDATE -> {
+                        Task existing = requireTask(op.getId(), tasks);
+                        checkVersion(existing, op.getVersion());
+                        authorizeUpdate(existing, op.getDescription(), op.getPriority(), op.getDueDate(), op.getAssigneeId(), op.getCompleted(), userId);
+                        TaskCounterState before = TaskCounterState.of(existing);
+                        Long previousAssignedId = applyUpdate(existing, op.getDescription(),
+                                op.getPriority() != null ? parsePriority(op.getPriority()) : null,
+                                op.getDueDate(), resolveAssignee(op.getAssigneeId(), teamId, assignees), op.getCompleted());
+                        TaskCounterState after = TaskCounterState.of(existing);
+                        taskCounterService.recordChanged(before, after);
+                        taskActivityService.recordChanged(existing.getId(), userId, before, after);
+                        updated.add(new PendingUpdate(existing, previousAssignedId));
+                        yield existing;
+                    }
+                    case COMPLETE -> {
+                        Task existing = requireTask(op.getId(), tasks);
+                        checkVersion(existing, op.getVersion());
+                        Boolean completed = op.getCompleted() != null ? op.getCompleted() : Boolean.TRUE;
+                        authorizeUpdate(existing, null, null, null, null, completed, userId);
+                        TaskCounterState before = TaskCounterState.of(existing);
+                        Long previousAssignedId = applyUpdate(existing, null, null, null, null, completed);
+                        TaskCounterState after = TaskCounterState.of(existing);
+                        taskCounterService.recordChanged(before, after);
+                        taskActivityService.recordChanged(existing.getId(), userId, before, after);
+                        updated.add(new PendingUpdate(existing, previousAssignedId));
+                        yield existing;
+                    }
+                    case DELETE -> {
+                        Task existing = requireTask(op.getId(), tasks);
+                        checkVersion(existing, op.getVersion());
+                        authorizeDelete(existing, userId);
+                        // Later operations in the same request must not see the deleted task
+                        tasks.remove(existing.getId());
+                        deleted.add(existing);
+                        taskCounterService.recordDeleted(TaskCounterState.of(existing));
+                        yield existing;
+                    }
+                };
+                results.add(new BulkTaskResultDto(i, op.getOp().name(), task.getId(), HttpStatus.OK.value(), null));
+            } catch (ResponseStatusException e) {
+                results.add(new BulkTaskResultDto(i, op.getOp().name(), op.getId(), e.getStatusCode().value(), e.getReason()));
+            }
+        }
+
+        taskRepository.saveAll(created);
+        // One flush for the whole request: writes go out as JDBC batches and events carry the bumped versions
+        flush();
+        for (int i = 0, c = 0; i < operations.size(); i++) {
+            if (operations.get(i).getOp() == BulkTaskOperation.Op.CREATE && results.get(i).getStatus() == HttpStatus.OK.value()) {
+                Task task = created.get(c++);
+                results.get(i).setTaskId(task.getId());
+                publishCreated(task);
+            }
+        }
+        updated.forEach(update -> publishUpdated(update.task(), update.previousAssignedId()));
+        taskRepository.deleteAll(deleted);
+        flush();
+        deleted.forEach(this::publishDeleted);
+        return results;
+    }
+
+    // Single conditional UPDATE instead of load/check/save; returns null when the task was not unassigned
+    private TaskDto claim(Long id, Long userId, Long teamId) {
+        User assignee = requireAssignee(userId, teamId);
+        if (taskRepository.claimUnassigned(id, teamId, assignee, Instant.now()) == 0) {
+            return null;
+        }
+        TaskDto dto = taskRepository.findAccessibleTaskById(id, userId, teamId)
+                .map(TaskRow::toDto)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        // Was visible to the whole team while unassigned
+        taskSyncService.recordRemoval(id, teamId, dto.getOwnerId(), null);
+        TaskCounterState claimed = TaskCounterState.of(dto);
+        taskCounterService.recordChanged(claimed.withAssignedId(null), claimed);
+        taskActivityService.recordChanged(id, userId, claimed.withAssignedId(null), claimed);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.ASSIGNED, dto, null));
+        return dto;
+    }
+
+    private static boolean isClaim(String description, String priority, Long dueDate, Long assigneeId, Boolean completed, Long userId) {
+        return assigneeId != null &&
+               assigneeId.equals(userId) &&
+               description == null &&
+               priority == null &&
+               dueDate == null &&
+               completed == null;
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+    }
+
+    // A concurrent writer committed first (the versioned UPDATE/DELETE matched no row)
+    private void flush() {
+        try {
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently");
+        }
+    }
+
+    // Throws the same 403s the single-task PUT has always returned
+    private void authorizeUpdate(Task task, String description, String priority, Long dueDate, Long assigneeId, Boolean completed, Long userId) {
         // Check if this is a self-assignment to an unassigned task (green flag)
-        boolean isSelfAssignmentToUnassignedTask = task.getAssigned() == null && 
-                                                   assigneeId != null && 
-                                                   assigneeId.equals(user.getId()) &&
-                                                   description == null && 
-                                                   priority == null && 
-                                                   dueDate == null &&
-                                                   completed == null;
-        
+        boolean isClaim = isClaim(description, priority, dueDate, assigneeId, completed, userId);
+        boolean isSelfAssignmentToUnassignedTask = task.getAssigned() == null && isClaim;
+
         // For most operations, user must be owner OR it's a valid self-assignment
-        boolean isOwner = task.getOwner().getId().equals(user.getId());
-        boolean isAssignee = task.getAssigned() != null && task.getAssigned().getId().equals(user.getId());
-        
+        boolean isOwner = task.getOwner().getId().equals(userId);
+        boolean isAssignee = task.getAssigned() != null && task.getAssigned().getId().equals(userId);
+
         // For non-completion updates, allow if user is owner OR if it's a valid self-assignment
         if (!isOwner && !isSelfAssignmentToUnassignedTask) {
             // If only trying to update completion status, allow if user is assignee or owner
@@ -91,43 +361,119 @@ public class TaskService {
                 if (!isAssignee && !isOwner) {
                     throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner or assignee can update completion status");
                 }
+            } else if (isClaim) {
+                // Someone else claimed it first
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Task is already assigned");
             } else {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can update task details");
             }
         }
-        
-        if (description != null) task.setDescription(description);
-        if (priority != null) {
-            try {
-                task.setPriority(Task.Priority.valueOf(priority));
-            } catch (Exception e) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid priority");
-            }
+    }
+
+    private void authorizeDelete(Task task, Long userId) {
+        if (!task.getOwner().getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete");
         }
+    }
+
+    // Mutates the managed entity and returns the previous assignee; the caller flushes, then calls publishUpdated
+    private Long applyUpdate(Task task, String description, Task.Priority priority, Long dueDate, User assignee, Boolean completed) {
+        Long previousAssignedId = task.getAssigned() != null ? task.getAssigned().getId() : null;
+        if (description != null) task.setDescription(description);
+        if (priority != null) task.setPriority(priority);
         if (dueDate != null) task.setDueDate(dueDate);
-        if (assigneeId != null) {
-            User assignee = userRepository.findById(assigneeId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee not found"));
+        if (assignee != null) {
+            if (!assignee.getId().equals(previousAssignedId)) {
+                // Reassignment can hide the task from the previous assignee (or the whole team, if it was unassigned)
+                taskSyncService.recordRemoval(task.getId(), task.getTeamId(), task.getOwner().getId(), previousAssignedId);
+            }
             task.setAssigned(assignee);
         }
         if (completed != null) {
             task.setCompleted(completed);
         }
-        taskRepository.save(task);
-        return toDto(task);
+        return previousAssignedId;
     }
 
-    @Transactional
-    public void deleteTask(Long id, User user) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-        if (!task.getOwner().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can delete");
+    private TaskDto publishUpdated(Task task, Long previousAssignedId) {
+        TaskDto dto = toDto(task);
+        TaskChangedEvent.Type type = Objects.equals(previousAssignedId, dto.getAssignedId())
+                ? TaskChangedEvent.Type.UPDATED
+                : TaskChangedEvent.Type.ASSIGNED;
+        eventPublisher.publishEvent(TaskChangedEvent.of(type, dto, previousAssignedId));
+        return dto;
+    }
+
+    private TaskDto publishCreated(Task task) {
+        TaskDto dto = toDto(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, dto, dto.getAssignedId()));
+        return dto;
+    }
+
+    private void publishDeleted(Task task) {
+        Long assignedId = task.getAssigned() != null ? task.getAssigned().getId() : null;
+        taskSyncService.recordRemoval(task.getId(), task.getTeamId(), task.getOwner().getId(), assignedId);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(task.getId(), task.getOwner().getId(), assignedId,
+                task.getTeamId()));
+    }
+
+    private record PendingUpdate(Task task, Long previousAssignedId) {
+    }
+
+    private static Task requireTask(Long id, Map<Long, Task> tasks) {
+        Task task = id != null ? tasks.get(id) : null;
+        if (task == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
         }
-        taskRepository.delete(task);
+        return task;
+    }
+
+    // Existence is checked against the user cache; the association itself only needs an uninitialized reference.
+    // Users of other teams are reported exactly like users that do not exist.
+    private User requireAssignee(Long assigneeId, Long teamId) {
+        if (userService.findById(assigneeId).filter(user -> teamId.equals(user.teamId())).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee not found");
+        }
+        return userRepository.getReferenceById(assigneeId);
+    }
+
+    private User resolveAssignee(Long assigneeId, Long teamId, Map<Long, CachedUser> assignees) {
+        if (assigneeId == null) {
+            return null;
+        }
+        CachedUser assignee = assignees.get(assigneeId);
+        if (assignee == null || !teamId.equals(assignee.teamId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee not found");
+        }
+        return userRepository.getReferenceById(assigneeId);
+    }
+
+    static Task.Priority parsePriority(String priority) {
+        try {
+            return Task.Priority.valueOf(priority);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid priority");
+        }
+    }
+
+    // "fix login bu" -> "fix:* & login:* & bu:*": every word must match, each as a prefix (search as you type).
+    // Only letters and digits reach to_tsquery, so user input can never be a tsquery syntax error.
+    private String toPrefixQuery(String query) {
+        if (query == null || query.length() > maxSearchLength) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must be at most " + maxSearchLength + " characters");
+        }
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(maxSearchTerms)
+                .map(term -> term + ":*")
+                .toList();
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must contain a letter or digit");
+        }
+        return String.join(" & ", terms);
     }
 
-    private TaskDto toDto(Task task) {
+    public static TaskDto toDto(Task task) {
         return new TaskDto(
                 task.getId(),
                 task.getTitle(),
@@ -137,7 +483,9 @@ public class TaskService {
                 task.getDueDate(),
                 task.getOwner() != null ? task.getOwner().getId() : null,
                 task.getAssigned() != null ? task.getAssigned().getId() : null,
-                task.getLastUpdate() != null ? task.getLastUpdate().toEpochMilli() : null
+                task.getTeamId(),
+                task.getLastUpdate() != null ? task.getLastUpdate().toEpochMilli() : null,
+                task.getVersion()
         );
     }
 }
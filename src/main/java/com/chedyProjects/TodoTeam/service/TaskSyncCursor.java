@@ -0,0 +1,31 @@
+package com.chedyProjects.TodoTeam.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque delta sync cursor: one keyset position over changed tasks (lastUpdate, id) and one over tombstones
+// (removedAt, id), since the two lists page independently; same encoding as TaskCursor
+public record TaskSyncCursor(Instant lastUpdate, Long taskId, Instant removedAt, Long tombstoneId) {
+
+    public String encode() {
+        String raw = lastUpdate.toString() + "|" + taskId + "|" + removedAt.toString() + "|" + tombstoneId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSyncCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            return new TaskSyncCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]),
+                    Instant.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.datasource.ReadFromPrimary;
+import com.chedyProjects.TodoTeam.dto.TaskChangesDto;
+import com.chedyProjects.TodoTeam.dto.TaskDto;
+import com.chedyProjects.TodoTeam.entity.TaskTombstone;
+import com.chedyProjects.TodoTeam.repository.TaskRepository;
+import com.chedyProjects.TodoTeam.repository.TaskRow;
+import com.chedyProjects.TodoTeam.repository.TaskTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "tasks.sync.service", histogram = true)
+@RequiredArgsConstructor
+public class TaskSyncService {
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tasks.sync.max-size:500}")
+    private int maxChanges;
+
+    // lastUpdate is stamped before commit, so a slow transaction can land behind a watermark already handed out;
+    // the returned watermark trails "now" by this much and clients simply see those rows twice.
+    @Value("${tasks.sync.safety-lag:5s}")
+    private Duration safetyLag;
+
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    // On the primary: a lagging replica could hide rows older than the watermark handed out
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public TaskChangesDto getChanges(Long userId, Long teamId, Long since, String cursor, Integer size) {
+        Instant now = Instant.now();
+        Instant sinceInstant = Instant.ofEpochMilli(since);
+        if (sinceInstant.isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones older than the retention window are gone, so the client has to reload from GET /tasks
+            return new TaskChangesDto(List.of(), List.of(), now.minus(safetyLag).toEpochMilli(), null, false, true);
+        }
+        int limit = size == null ? maxChanges : Math.max(1, Math.min(size, maxChanges));
+
+        // The first page starts just before since (ids are positive); later pages resume after the cursor's rows
+        TaskSyncCursor after = TaskSyncCursor.decode(cursor);
+        if (after == null || after.lastUpdate().isBefore(sinceInstant) || after.removedAt().isBefore(sinceInstant)) {
+            after = new TaskSyncCursor(sinceInstant, 0L, sinceInstant, 0L);
+        }
+        List<TaskRow> tasks = taskRepository.findAccessibleTasksChangedAfter(userId, teamId, after.lastUpdate(), after.taskId(),
+                Limit.of(limit + 1));
+        List<TaskTombstone> tombstones = tombstoneRepository.findRemovedAfter(userId, teamId, after.removedAt(),
+                after.tombstoneId(), Limit.of(limit + 1));
+        boolean moreChanged = tasks.size() > limit;
+        boolean moreRemoved = tombstones.size() > limit;
+        if (moreChanged) {
+            tasks = tasks.subList(0, limit);
+        }
+        if (moreRemoved) {
+            tombstones = tombstones.subList(0, limit);
+        }
+        boolean hasMore = moreChanged || moreRemoved;
+        long watermark;
+        String nextCursor = null;
+        if (hasMore) {
+            // A list that is already exhausted keeps its position and simply comes back empty
+            TaskRow lastTask = tasks.isEmpty() ? null : tasks.get(tasks.size() - 1);
+            TaskTombstone lastTombstone = tombstones.isEmpty() ? null : tombstones.get(tombstones.size() - 1);
+            nextCursor = new TaskSyncCursor(
+                    lastTask != null ? lastTask.lastUpdate() : after.lastUpdate(),
+                    lastTask != null ? lastTask.id() : after.taskId(),
+                    lastTombstone != null ? lastTombstone.getRemovedAt() : after.removedAt(),
+                    lastTombstone != null ? lastTombstone.getId() : after.tombstoneId()).encode();
+            // Paging is not finished: the client keeps since and follows the cursor until hasMore is false
+            watermark = since;
+        } else {
+            watermark = Math.max(since, now.minus(safetyLag).toEpochMilli());
+        }
+        meterRegistry.summary("tasks.listing.rows", "query", "changes").record(tasks.size());
+        List<TaskDto> changed = tasks.stream()
+                .map(TaskRow::toDto)
+                .collect(Collectors.toList());
+        List<Long> removed = tombstones.stream()
+                .map(TaskTombstone::getTaskId)
+                .distinct()
+                .collect(Collectors.toList());
+        return new TaskChangesDto(changed, removed, watermark, nextCursor, hasMore, false);
+    }
+
+    // ownerId/assignedId are who could see the task before the change; a null assignedId means the whole team could
+    public void recordRemoval(Long taskId, Long teamId, Long ownerId, Long assignedId) {
+        tombstoneRepository.save(TaskTombstone.builder()
+                .taskId(taskId)
+                .teamId(teamId)
+                .ownerId(ownerId)
+                .assignedId(assignedId)
+                .removedAt(Instant.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.sync.prune-interval:PT1H}")
+    @Transactional
+    public void pruneTombstones() {
+        tombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+    }
+}
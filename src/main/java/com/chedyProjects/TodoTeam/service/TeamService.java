@@ -0,0 +1,52 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.dto.TeamDto;
+import com.chedyProjects.TodoTeam.entity.Team;
+import com.chedyProjects.TodoTeam.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+@Service
+@RequiredArgsConstructor
+public class TeamService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final TeamRepository teamRepository;
+    private final TaskCounterService taskCounterService;
+
+    // A new team starts with its shared counter stripes, so its first unassigned task has rows to count into
+    @Transactional
+    public Team createTeam(String name) {
+        Team team = teamRepository.save(Team.builder()
+                .name(name)
+                .inviteCode(newInviteCode())
+                .build());
+        taskCounterService.createTeamScope(team.getId());
+        return team;
+    }
+
+    @Transactional(readOnly = true)
+    public Team requireByInviteCode(String inviteCode) {
+        return teamRepository.findByInviteCode(inviteCode.trim())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid invite code"));
+    }
+
+    @Transactional(readOnly = true)
+    public TeamDto getTeam(Long teamId) {
+        return teamRepository.findById(teamId)
+                .map(team -> new TeamDto(team.getId(), team.getName(), team.getInviteCode()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
+    }
+
+    // 128 random bits, so codes cannot be guessed to join someone else's team
+    private static String newInviteCode() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -1,29 +1,106 @@
 package com.chedyProjects.TodoTeam.service;
 
+import com.chedyProjects.TodoTeam.cache.CachedUser;
+import com.chedyProjects.TodoTeam.cache.UserCache;
 import com.chedyProjects.TodoTeam.dto.UserDto;
-import com.chedyProjects.TodoTeam.entity.User;
+import com.chedyProjects.TodoTeam.dto.UserPageDto;
 import com.chedyProjects.TodoTeam.repository.UserRepository;
+import com.chedyProjects.TodoTeam.repository.VersionStamp;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "users.service", histogram = true)
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserDto(user.getId(), user.getUsername(), user.getEmail()))
-                .collect(Collectors.toList());
+    @Value("${users.directory.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${users.directory.max-size:200}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public UserPageDto getDirectory(Long teamId, String query, int page, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        String prefix = toPrefixPattern(query);
+        Slice<UserDto> slice = prefix == null
+                ? userRepository.findDirectory(teamId, pageable)
+                : userRepository.searchDirectory(teamId, prefix, pageable);
+        return new UserPageDto(slice.getContent(), slice.getNumber(), slice.hasNext());
+    }
+
+    // Aggregate over the same predicate as the page query; lets an unchanged directory answer 304 without reading rows
+    @Transactional(readOnly = true)
+    public String getDirectoryETag(Long teamId, String query) {
+        String prefix = toPrefixPattern(query);
+        VersionStamp stamp = prefix == null
+                ? userRepository.findDirectoryStamp(teamId)
+                : userRepository.searchDirectoryStamp(teamId, prefix);
+        return stamp.toETag();
+    }
+
+    public CachedUser getById(Long id) {
+        return findById(id).orElse(null);
+    }
+
+    public CachedUser getByEmail(String email) {
+        return findByEmail(email).orElse(null);
+    }
+
+    public Optional<CachedUser> findById(Long id) {
+        return userCache.getById(id, key -> userRepository.findById(key).map(CachedUser::from));
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        return userCache.getByEmail(email, key -> userRepository.findByEmail(key).map(CachedUser::from));
+    }
+
+    public Map<Long, CachedUser> findAllById(Collection<Long> ids) {
+        return userCache.getAllById(ids, missing -> userRepository.findAllById(missing).stream()
+                .map(CachedUser::from)
+                .collect(Collectors.toMap(CachedUser::id, Function.identity())));
     }
 
-    public User getById(Long id) {
-        return userRepository.findById(id).orElse(null);
+    private static String toPrefixPattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
     }
 
-    public User getByEmail(String email) {
-        return userRepository.findByEmail(email).orElse(null);
+    // Call after any change to a user's identity fields (register, password, token version, profile edits).
+    // Evicts again after commit so a concurrent reader cannot re-cache the pre-commit row.
+    public void evict(Long id, String email) {
+        userCache.invalidate(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.invalidate(id, email);
+                }
+            });
+        }
     }
 }
@@ -0,0 +1,66 @@
+-- Baseline: the schema as mapped by the entities. Hibernate only validates it (ddl-auto: validate).
+
+-- Ids come from pooled sequences (Hibernate reserves 50 ids per nextval) so inserts can be batched
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_tombstones_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE refresh_tokens_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    token_version INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Directory browse order and prefix search (GET /users?q=)
+CREATE INDEX idx_users_username ON users (username, id);
+CREATE INDEX idx_users_username_prefix ON users (lower(username) text_pattern_ops);
+CREATE INDEX idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+
+CREATE TABLE tasks (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    priority VARCHAR(10) NOT NULL CHECK (priority IN ('LOW', 'NORMAL', 'HIGH')),
+    is_completed BOOLEAN NOT NULL DEFAULT FALSE,
+    due_date BIGINT,
+    owner_id BIGINT REFERENCES users (id),
+    assigned_id BIGINT REFERENCES users (id),
+    last_update TIMESTAMP(6) WITH TIME ZONE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Keyset listings are ordered by last_update, id
+CREATE INDEX idx_tasks_last_update ON tasks (last_update, id);
+CREATE INDEX idx_tasks_owner_last_update ON tasks (owner_id, last_update, id);
+CREATE INDEX idx_tasks_assigned_last_update ON tasks (assigned_id, last_update, id);
+CREATE INDEX idx_tasks_completed_last_update ON tasks (is_completed, last_update, id);
+CREATE INDEX idx_tasks_priority_last_update ON tasks (priority, last_update, id);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date, id);
+
+CREATE TABLE task_tombstones (
+    id BIGINT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    removed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_task_tombstones_removed_at ON task_tombstones (removed_at);
+
+-- Only the SHA-256 of the opaque refresh token is stored
+CREATE TABLE refresh_tokens (
+    id BIGINT PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    access_token_id VARCHAR(36),
+    access_expires_at TIMESTAMP(6) WITH TIME ZONE,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
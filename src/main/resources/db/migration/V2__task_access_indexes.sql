@@ -0,0 +1,10 @@
+-- Every task read filters on "assigned_id IS NULL OR owner_id = ? OR assigned_id = ?".
+-- PostgreSQL answers that with a BitmapOr over one index per branch, each already ordered for keyset paging
+-- and the /tasks/changes range on last_update:
+--   unassigned branch -> idx_tasks_unassigned_last_update (partial, only the shared pool of tasks)
+--   owner branch      -> idx_tasks_owner_last_update
+--   assignee branch   -> idx_tasks_assigned_last_update
+CREATE INDEX idx_tasks_unassigned_last_update ON tasks (last_update, id) WHERE assigned_id IS NULL;
+
+-- No query scans all tasks by last_update; the partial index above covers the only branch that needed it
+DROP INDEX idx_tasks_last_update;
@@ -0,0 +1,10 @@
+-- Full-text search over title and description (GET /tasks/search).
+-- A stored generated column, so every write path (JPA, bulk updates, COPY imports) keeps it current.
+-- 'simple' does no stemming: a typed prefix such as "deploym" still matches "deployment", in any language.
+-- Title words weigh more than description words in ts_rank.
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_tasks_search ON tasks USING GIN (search_vector);
@@ -0,0 +1,47 @@
+-- Dashboard counters behind GET /tasks/summary, maintained as deltas by every task write.
+-- scope_id 0 holds unassigned tasks (visible to everyone); a user's scope holds the assigned tasks they own or are
+-- assigned to. The two are disjoint, so a user's summary is the sum of scope 0 and their own scope.
+-- Scope 0 is written by everyone and is spread over stripes; user scopes use stripe 0 only.
+CREATE TABLE task_counters (
+    scope_id BIGINT NOT NULL,
+    stripe INTEGER NOT NULL,
+    open_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    overdue_count BIGINT NOT NULL DEFAULT 0,
+    low_count BIGINT NOT NULL DEFAULT 0,
+    normal_count BIGINT NOT NULL DEFAULT 0,
+    high_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope_id, stripe)
+);
+
+INSERT INTO task_counters (scope_id, stripe, open_count, completed_count, overdue_count, low_count, normal_count, high_count)
+SELECT scope_id, 0,
+       count(*) FILTER (WHERE NOT is_completed),
+       count(*) FILTER (WHERE is_completed),
+       count(*) FILTER (WHERE NOT is_completed AND due_date < extract(epoch FROM now()) * 1000),
+       count(*) FILTER (WHERE NOT is_completed AND priority = 'LOW'),
+       count(*) FILTER (WHERE NOT is_completed AND priority = 'NORMAL'),
+       count(*) FILTER (WHERE NOT is_completed AND priority = 'HIGH')
+FROM (
+    SELECT 0 AS scope_id, is_completed, due_date, priority FROM tasks WHERE assigned_id IS NULL
+    UNION ALL
+    SELECT owner_id, is_completed, due_date, priority FROM tasks WHERE assigned_id IS NOT NULL
+    UNION ALL
+    SELECT assigned_id, is_completed, due_date, priority FROM tasks WHERE assigned_id <> owner_id
+) scoped
+GROUP BY scope_id;
+
+INSERT INTO task_counters (scope_id, stripe)
+SELECT 0, stripe FROM generate_series(0, 15) AS stripe
+ON CONFLICT DO NOTHING;
+
+INSERT INTO task_counters (scope_id, stripe)
+SELECT id, 0 FROM users
+ON CONFLICT DO NOTHING;
+
+-- Leases for scheduled jobs that must run on one node at a time
+CREATE TABLE job_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_by VARCHAR(64),
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Due-date reminders. The scheduler only ever reads open tasks due in its next window, in due_date order.
+CREATE INDEX idx_tasks_open_due ON tasks (due_date, id) WHERE is_completed = false;
+
+-- One row per fired reminder: the unique key makes each (task, kind, due date) fire once, across nodes and restarts,
+-- and every node tails the table by id to deliver new reminders to its SSE streams. Ids are not pre-allocated in blocks,
+-- so id order stays firing order when the scheduling node changes.
+CREATE SEQUENCE task_reminders_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE task_reminders (
+    id BIGINT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    kind VARCHAR(10) NOT NULL CHECK (kind IN ('DUE_SOON', 'OVERDUE')),
+    due_date BIGINT NOT NULL,
+    owner_id BIGINT,
+    assigned_id BIGINT,
+    fired_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_task_reminders_task_kind_due UNIQUE (task_id, kind, due_date)
+);
+
+CREATE INDEX idx_task_reminders_fired_at ON task_reminders (fired_at);
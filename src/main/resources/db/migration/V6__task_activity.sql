@@ -0,0 +1,43 @@
+-- Task activity log. Request transactions add one row per mutation to the outbox; a background writer moves them
+-- into task_activity in batches, one row per changed field.
+CREATE SEQUENCE task_activity_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_activity_outbox (
+    id BIGINT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    actor_id BIGINT,
+    changes VARCHAR(2000) NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE SEQUENCE task_activity_seq START WITH 1 INCREMENT BY 50;
+
+-- Monthly partitions on occurred_at: retention drops whole partitions instead of deleting rows.
+-- There is deliberately no default partition: a row for a month without one fails to move and stays in the outbox
+-- until the partition job has created it.
+CREATE TABLE task_activity (
+    id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    actor_id BIGINT,
+    field VARCHAR(20) NOT NULL,
+    old_value VARCHAR(255),
+    new_value VARCHAR(255),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE INDEX idx_task_activity_task ON task_activity (task_id, occurred_at DESC, id DESC);
+
+-- The application keeps tasks.activity.months-ahead partitions ahead; these cover the first run
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month := (date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_activity FOR VALUES FROM (%L) TO (%L)',
+                       'task_activity_' || to_char(month, 'YYYY_MM'),
+                       month::timestamp AT TIME ZONE 'UTC',
+                       (month + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+    END LOOP;
+END $$;
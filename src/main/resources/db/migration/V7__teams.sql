@@ -0,0 +1,89 @@
+-- Teams (workspaces). Every user belongs to exactly one team and every task to its owner's team; a user sees the
+-- unassigned tasks of their own team only. Existing users and tasks all move into one team, which keeps the access
+-- they had before this migration.
+CREATE SEQUENCE teams_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE teams (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    -- Handed out to colleagues; registering with it joins the team
+    invite_code VARCHAR(32) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO teams (id, name, invite_code, created_at)
+VALUES (nextval('teams_seq'), 'Default', md5(random()::text), now());
+
+ALTER TABLE users ADD COLUMN team_id BIGINT REFERENCES teams (id);
+UPDATE users SET team_id = (SELECT id FROM teams);
+ALTER TABLE users ALTER COLUMN team_id SET NOT NULL;
+
+-- The directory (GET /users) lists the caller's team only
+DROP INDEX idx_users_username;
+DROP INDEX idx_users_username_prefix;
+DROP INDEX idx_users_email_prefix;
+CREATE INDEX idx_users_team_username ON users (team_id, username, id);
+CREATE INDEX idx_users_team_username_prefix ON users (team_id, lower(username) text_pattern_ops);
+CREATE INDEX idx_users_team_email_prefix ON users (team_id, lower(email) text_pattern_ops);
+
+-- tasks becomes hash-partitioned on team_id. Every task read and write filters on one team, so the planner prunes
+-- to a single partition and each partition's indexes stay a sixteenth of the size; a busy team no longer bloats the
+-- indexes every other team reads through. The primary key has to include the partition key.
+CREATE TABLE tasks_partitioned (
+    id BIGINT NOT NULL,
+    team_id BIGINT NOT NULL REFERENCES teams (id),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    priority VARCHAR(10) NOT NULL CHECK (priority IN ('LOW', 'NORMAL', 'HIGH')),
+    is_completed BOOLEAN NOT NULL DEFAULT FALSE,
+    due_date BIGINT,
+    owner_id BIGINT REFERENCES users (id),
+    assigned_id BIGINT REFERENCES users (id),
+    last_update TIMESTAMP(6) WITH TIME ZONE,
+    version BIGINT NOT NULL DEFAULT 0,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED,
+    PRIMARY KEY (id, team_id)
+) PARTITION BY HASH (team_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       i, i);
+    END LOOP;
+END $$;
+
+INSERT INTO tasks_partitioned (id, team_id, title, description, priority, is_completed, due_date, owner_id, assigned_id,
+                               last_update, version)
+SELECT t.id, teams.id, t.title, t.description, t.priority, t.is_completed, t.due_date, t.owner_id, t.assigned_id,
+       t.last_update, t.version
+FROM tasks t CROSS JOIN teams;
+
+DROP TABLE tasks;
+ALTER TABLE tasks_partitioned RENAME TO tasks;
+ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_pkey TO tasks_pkey;
+
+-- Same access paths as before (see V2). The unassigned branch now also leads with team_id: within a partition it
+-- must skip the other teams that hash there. Owner and assignee already imply the team.
+CREATE INDEX idx_tasks_unassigned_last_update ON tasks (team_id, last_update, id) WHERE assigned_id IS NULL;
+CREATE INDEX idx_tasks_owner_last_update ON tasks (owner_id, last_update, id);
+CREATE INDEX idx_tasks_assigned_last_update ON tasks (assigned_id, last_update, id);
+CREATE INDEX idx_tasks_completed_last_update ON tasks (team_id, is_completed, last_update, id);
+CREATE INDEX idx_tasks_priority_last_update ON tasks (team_id, priority, last_update, id);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date, id);
+CREATE INDEX idx_tasks_search ON tasks USING GIN (search_vector);
+-- The reminder scheduler reads due tasks across all teams
+CREATE INDEX idx_tasks_open_due ON tasks (due_date, id) WHERE is_completed = false;
+
+-- Delta sync reads the tombstones of the caller's team only
+ALTER TABLE task_tombstones ADD COLUMN team_id BIGINT;
+UPDATE task_tombstones SET team_id = (SELECT id FROM teams);
+ALTER TABLE task_tombstones ALTER COLUMN team_id SET NOT NULL;
+CREATE INDEX idx_task_tombstones_team_removed_at ON task_tombstones (team_id, removed_at);
+
+-- The shared scope (unassigned tasks) is per team now: scope_id -team_id, so it never collides with a user id.
+-- Scope 0 held exactly the unassigned tasks of the one existing team.
+UPDATE task_counters SET scope_id = -(SELECT id FROM teams) WHERE scope_id = 0;
@@ -0,0 +1,9 @@
+-- Delta sync only reports a tombstone to users who could see the task before it was removed: its owner and
+-- assignee, or the whole team when it was unassigned. Tombstones written before this migration have neither and
+-- stay team-wide until they are pruned.
+ALTER TABLE task_tombstones ADD COLUMN owner_id BIGINT;
+ALTER TABLE task_tombstones ADD COLUMN assigned_id BIGINT;
+
+-- Tombstones are keyset-paged over (removed_at, id) within a team
+DROP INDEX idx_task_tombstones_team_removed_at;
+CREATE INDEX idx_task_tombstones_team_removed_at ON task_tombstones (team_id, removed_at, id);
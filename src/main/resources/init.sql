@@ -1,25 +0,0 @@
--- Users table
-CREATE TABLE IF NOT EXISTS users (
-    id BIGSERIAL PRIMARY KEY,
-    username VARCHAR(255) NOT NULL,
-    email VARCHAR(255) UNIQUE NOT NULL,
-    password VARCHAR(255) NOT NULL
-);
-
--- Tasks table
-CREATE TABLE IF NOT EXISTS tasks (
-    id BIGSERIAL PRIMARY KEY,
-    title VARCHAR(255) NOT NULL,
-    description TEXT,
-    priority VARCHAR(10) CHECK (priority IN ('LOW', 'NORMAL', 'HIGH')),
-    is_completed BOOLEAN DEFAULT FALSE,
-    due_date BIGINT,
-    updated_date BIGINT,
-    owner_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
-    assigned_id BIGINT REFERENCES users(id) ON DELETE SET NULL
-);
-
--- Indexes for performance
-CREATE INDEX IF NOT EXISTS idx_tasks_owner_id ON tasks(owner_id);
-CREATE INDEX IF NOT EXISTS idx_tasks_assigned_id ON tasks(assigned_id);
-
@@ -0,0 +1,99 @@
+package com.chedyProjects.TodoTeam.reminder;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Same shape as DueDateScheduler's wheel: one-second ticks, 64 slots, 3 levels
+class TimerWheelTest {
+    private static final long TICK = 1000;
+    private static final long START = 1_700_000_000_000L;
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(TICK, 6, 3, START);
+
+    @Test
+    void firesOnTheDeadlineTickAndNotBefore() {
+        wheel.schedule("a", START + 5 * TICK);
+
+        assertThat(wheel.advance(START + 4 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 5 * TICK)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        wheel.schedule("a", START + 5 * TICK + 1);
+
+        assertThat(wheel.advance(START + 5 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 6 * TICK)).containsExactly("a");
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        wheel.schedule("a", START - 10 * TICK);
+
+        assertThat(wheel.advance(START)).containsExactly("a");
+    }
+
+    @Test
+    void cascadesFromLevelOne() {
+        // 100 ticks: beyond level 0's 64 slots
+        wheel.schedule("a", START + 100 * TICK);
+
+        assertThat(wheel.advance(START + 99 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 100 * TICK)).containsExactly("a");
+    }
+
+    @Test
+    void cascadesFromLevelTwo() {
+        // 10,000 ticks: beyond level 1's 4,096
+        wheel.schedule("a", START + 10_000 * TICK);
+
+        assertThat(wheel.advance(START + 9_999 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 10_000 * TICK)).containsExactly("a");
+    }
+
+    @Test
+    void advancesAcrossLevelsInDeadlineOrder() {
+        wheel.schedule("level2", START + 5_000 * TICK);
+        wheel.schedule("level0", START + 3 * TICK);
+        wheel.schedule("level1", START + 300 * TICK);
+
+        List<String> expired = wheel.advance(START + 6_000 * TICK);
+
+        assertThat(expired).containsExactly("level0", "level1", "level2");
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceTheEarlierDeadline() {
+        wheel.schedule("a", START + 10 * TICK);
+        wheel.schedule("a", START + 200 * TICK);
+        wheel.schedule("b", START + 20 * TICK);
+        assertThat(wheel.cancel("b")).isTrue();
+
+        assertThat(wheel.advance(START + 199 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 200 * TICK)).containsExactly("a");
+        assertThat(wheel.cancel("b")).isFalse();
+    }
+
+    @Test
+    void rejectsDeadlinesBeyondTheHorizon() {
+        assertThatThrownBy(() -> wheel.schedule("a", START + wheel.horizonMillis() + TICK))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resetRestartsTheWheelAtNow() {
+        wheel.schedule("stale", START + 10 * TICK);
+        // A follower that never advanced for longer than the horizon, then takes over
+        long later = START + 2 * wheel.horizonMillis();
+        wheel.reset(later);
+
+        assertThat(wheel.size()).isZero();
+        wheel.schedule("a", later + 100 * TICK);
+        assertThat(wheel.advance(later + 99 * TICK)).isEmpty();
+        assertThat(wheel.advance(later + 100 * TICK)).containsExactly("a");
+    }
+}
@@ -0,0 +1,77 @@
+package com.chedyProjects.TodoTeam.security;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+    private static final long TTL = Duration.ofMinutes(15).toMillis();
+
+    private final TokenRevocationList revocations = new TokenRevocationList(TTL);
+
+    @Test
+    void revokesASingleTokenById() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        revocations.revokeToken("jti-1", expiresAt);
+
+        assertThat(revocations.isRevoked(user(1L, 0, "jti-1", expiresAt))).isTrue();
+        assertThat(revocations.isRevoked(user(1L, 0, "jti-2", expiresAt))).isFalse();
+    }
+
+    @Test
+    void ignoresTokensThatAlreadyExpired() {
+        Instant expiredAt = Instant.now().minusSeconds(1);
+        revocations.revokeToken("jti-1", expiredAt);
+
+        assertThat(revocations.isRevoked(user(1L, 0, "jti-1", expiredAt))).isFalse();
+    }
+
+    @Test
+    void revokesEveryTokenBelowTheVersionFloor() {
+        revocations.revokeVersionsBelow(1L, 3);
+
+        assertThat(revocations.isRevoked(user(1L, 2, "a", null))).isTrue();
+        assertThat(revocations.isRevoked(user(1L, 3, "b", null))).isFalse();
+        assertThat(revocations.isRevoked(user(2L, 0, "c", null))).isFalse();
+    }
+
+    @Test
+    void versionFloorNeverMovesBackwards() {
+        revocations.revokeVersionsBelow(1L, 5);
+        revocations.revokeVersionsBelow(1L, 2);
+
+        assertThat(revocations.isRevoked(user(1L, 4, "a", null))).isTrue();
+    }
+
+    @Test
+    void pruneKeepsEntriesThatCanStillMatchALiveToken() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        revocations.revokeToken("jti-1", expiresAt);
+        revocations.revokeVersionsBelow(1L, 3);
+
+        revocations.prune();
+
+        assertThat(revocations.isRevoked(user(1L, 3, "jti-1", expiresAt))).isTrue();
+        assertThat(revocations.isRevoked(user(1L, 2, "other", null))).isTrue();
+    }
+
+    @Test
+    void pruneDropsExpiredTokensAndFloorsOlderThanOneTokenLifetime() throws InterruptedException {
+        TokenRevocationList shortLived = new TokenRevocationList(0);
+        Instant expiresAt = Instant.now().plusMillis(20);
+        shortLived.revokeToken("jti-1", expiresAt);
+        shortLived.revokeVersionsBelow(1L, 3);
+        Thread.sleep(40);
+
+        shortLived.prune();
+
+        assertThat(shortLived.isRevoked(user(1L, 3, "jti-1", expiresAt))).isFalse();
+        assertThat(shortLived.isRevoked(user(1L, 2, "other", null))).isFalse();
+    }
+
+    private static AuthUser user(Long id, int version, String tokenId, Instant expiresAt) {
+        return new AuthUser(id, "user" + id + "@example.com", 1L, version, tokenId, expiresAt);
+    }
+}
@@ -0,0 +1,139 @@
+package com.chedyProjects.TodoTeam.service;
+
+import com.chedyProjects.TodoTeam.cache.CachedUser;
+import com.chedyProjects.TodoTeam.dto.AuthDto;
+import com.chedyProjects.TodoTeam.entity.RefreshToken;
+import com.chedyProjects.TodoTeam.repository.RefreshTokenRepository;
+import com.chedyProjects.TodoTeam.security.AuthUser;
+import com.chedyProjects.TodoTeam.security.IssuedToken;
+import com.chedyProjects.TodoTeam.security.JwtUtil;
+import com.chedyProjects.TodoTeam.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Repository and user lookups are mocked; the revocation list is the real one JwtFilter consults
+class RefreshTokenServiceTest {
+    private static final String FAMILY = "family-1";
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final TokenRevocationList revocations = new TokenRevocationList(Duration.ofMinutes(15).toMillis());
+    private final RefreshTokenService service = new RefreshTokenService(repository, userService, jwtUtil, revocations);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshTokenTtl", Duration.ofDays(30));
+        when(jwtUtil.issue(anyLong(), anyString(), anyInt(), anyLong()))
+                .thenReturn(new IssuedToken("access", "jti-new", Instant.now().plusSeconds(900)));
+        when(jwtUtil.getExpiration()).thenReturn(900_000L);
+        when(userService.findById(1L)).thenReturn(Optional.of(new CachedUser(1L, "a@example.com", "alice", "hash", 2, 10L)));
+    }
+
+    @Test
+    void refreshSpendsTheTokenAndIssuesTheNextOneInTheSameFamily() {
+        RefreshToken presented = refreshToken(Instant.now().plus(Duration.ofDays(1)));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(presented));
+        when(repository.markUsed(eq(presented.getId()), any())).thenReturn(1);
+
+        AuthDto result = service.refresh("raw-token");
+
+        assertThat(result.getToken()).isEqualTo("access");
+        assertThat(result.getRefreshToken()).isNotBlank().isNotEqualTo("raw-token");
+        // Reissued with the user's current version and team, not the ones the old token carried
+        verify(jwtUtil).issue(1L, "a@example.com", 2, 10L);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(FAMILY);
+        assertThat(saved.getValue().getAccessTokenId()).isEqualTo("jti-new");
+        verify(repository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void reusingASpentTokenRevokesItsFamilyAndTheAccessTokensItIssued() {
+        RefreshToken presented = refreshToken(Instant.now().plus(Duration.ofDays(1)));
+        Instant accessExpiresAt = Instant.now().plusSeconds(600);
+        RefreshToken sibling = RefreshToken.builder()
+                .id(6L).userId(1L).familyId(FAMILY).accessTokenId("jti-sibling").accessExpiresAt(accessExpiresAt)
+                .build();
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(presented));
+        when(repository.markUsed(eq(presented.getId()), any())).thenReturn(0);
+        when(repository.findLiveAccessTokens(eq(FAMILY), any())).thenReturn(List.of(presented, sibling));
+
+        assertThatThrownBy(() -> service.refresh("raw-token"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+
+        verify(repository).revokeFamily(eq(FAMILY), any());
+        verify(repository, never()).save(any());
+        assertThat(revocations.isRevoked(accessToken("jti-old", presented.getAccessExpiresAt()))).isTrue();
+        assertThat(revocations.isRevoked(accessToken("jti-sibling", accessExpiresAt))).isTrue();
+        assertThat(revocations.isRevoked(accessToken("jti-unrelated", accessExpiresAt))).isFalse();
+    }
+
+    @Test
+    void expiredTokenIsRejectedWithoutIssuing() {
+        RefreshToken presented = refreshToken(Instant.now().minusSeconds(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(presented));
+        when(repository.markUsed(eq(presented.getId()), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> service.refresh("raw-token")).isInstanceOf(ResponseStatusException.class);
+
+        verify(repository, never()).save(any());
+        verify(repository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.refresh("raw-token")).isInstanceOf(ResponseStatusException.class);
+
+        verify(repository, never()).markUsed(anyLong(), any());
+    }
+
+    @Test
+    void revokeAllRaisesTheVersionFloor() {
+        service.revokeAll(1L, 3);
+
+        verify(repository).revokeAllForUser(eq(1L), any());
+        assertThat(revocations.isRevoked(new AuthUser(1L, "a@example.com", 10L, 2, "jti", null))).isTrue();
+        assertThat(revocations.isRevoked(new AuthUser(1L, "a@example.com", 10L, 3, "jti", null))).isFalse();
+    }
+
+    private static RefreshToken refreshToken(Instant expiresAt) {
+        return RefreshToken.builder()
+                .id(5L)
+                .tokenHash("hash")
+                .userId(1L)
+                .familyId(FAMILY)
+                .accessTokenId("jti-old")
+                .accessExpiresAt(Instant.now().plusSeconds(300))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static AuthUser accessToken(String tokenId, Instant expiresAt) {
+        return new AuthUser(1L, "a@example.com", 10L, 2, tokenId, expiresAt);
+    }
+}
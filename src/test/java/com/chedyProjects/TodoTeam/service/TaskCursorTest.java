@@ -0,0 +1,41 @@
+package com.chedyProjects.TodoTeam.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    void roundTripsKeepingSubMillisecondPrecision() {
+        TaskCursor cursor = new TaskCursor(Instant.parse("2025-01-01T10:00:00.123456Z"), 42L);
+
+        assertThat(TaskCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new TaskCursor(Instant.parse("2025-01-01T10:00:00.1Z"), 7L).encode();
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void blankMeansFirstPage() {
+        assertThat(TaskCursor.decode(null)).isNull();
+        assertThat(TaskCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursorsWith400() {
+        for (String bad : new String[]{"zz", "bm90LWEtY3Vyc29y", "MjAyNS0wMS0wMVQxMDowMDowMFp8YWJj"}) {
+            assertThatThrownBy(() -> TaskCursor.decode(bad))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+}
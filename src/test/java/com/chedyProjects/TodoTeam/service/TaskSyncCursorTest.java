@@ -0,0 +1,44 @@
+package com.chedyProjects.TodoTeam.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSyncCursorTest {
+
+    @Test
+    void roundTripsBothPositions() {
+        TaskSyncCursor cursor = new TaskSyncCursor(Instant.parse("2025-01-01T10:00:00.123456Z"), 42L,
+                Instant.parse("2025-01-01T09:59:59.999999Z"), 7L);
+
+        assertThat(TaskSyncCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankMeansFirstPage() {
+        assertThat(TaskSyncCursor.decode(null)).isNull();
+        assertThat(TaskSyncCursor.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursorsWith400() {
+        // A plain task cursor only carries one position
+        String taskCursor = new TaskCursor(Instant.parse("2025-01-01T10:00:00Z"), 1L).encode();
+        String badId = encode("2025-01-01T10:00:00Z|1|2025-01-01T10:00:00Z|x");
+        for (String bad : new String[]{"zz", taskCursor, badId}) {
+            assertThatThrownBy(() -> TaskSyncCursor.decode(bad))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}